@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Selects plain or HTML captions for the panels created afterwards. {@code captions.html} is a bundle
+ * setting, so HTML captions come from a benchmark variant of the default bundle.
+ */
+final class Captions {
+
+    private static final Locale PLAIN = Locale.US;
+
+    private static final Locale HTML = Locale.of("en", "US", "html");
+
+    private Captions() {
+    }
+
+    static void use(boolean html) {
+        Locale.setDefault(html ? HTML : PLAIN);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimeCellRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of table cells through {@link DateTimeCellRenderer} into a {@link CellRendererPane}, the way
+ * {@code BasicTableUI} paints a column, with every cell holding the same value or a different one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellRendererBenchmark {
+
+    private static final int CELLS = 100_000;
+
+    @Param({"unchanged", "changing"})
+    public String values;
+
+    private LocalDateTime[] cells;
+
+    private JTable table;
+
+    private DateTimeCellRenderer renderer;
+
+    private CellRendererPane rendererPane;
+
+    private BufferedImage image;
+
+    private Rectangle bounds;
+
+    @Setup
+    public void setUp() {
+        var start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        cells = new LocalDateTime[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = "changing".equals(values) ? start.plusMinutes(i) : start;
+        }
+        Edt.run(() -> {
+            table = new JTable(new DefaultTableModel(new Object[][]{{start}}, new Object[]{"value"}));
+            renderer = new DateTimeCellRenderer();
+            rendererPane = new CellRendererPane();
+            table.add(rendererPane);
+            var component = renderer.getTableCellRendererComponent(table, start, false, false, 0, 0);
+            bounds = new Rectangle(component.getPreferredSize());
+            image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void render() {
+        Edt.run(() -> {
+            Graphics2D graphics = image.createGraphics();
+            try {
+                for (int row = 0; row < CELLS; row++) {
+                    var component = renderer.getTableCellRendererComponent(table, cells[row], false, false, row, 0);
+                    rendererPane.paintComponent(graphics, component, table, bounds.x, bounds.y, bounds.width, bounds.height, true);
+                }
+            } finally {
+                graphics.dispose();
+            }
+        });
+    }
+}
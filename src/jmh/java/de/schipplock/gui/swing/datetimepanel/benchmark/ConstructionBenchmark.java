@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DatePanel;
+import de.schipplock.gui.swing.datetimepanel.DateTimeField;
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import de.schipplock.gui.swing.datetimepanel.TimePanel;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating panels, with and without computing the preferred size that realizes lazy panels, with
+ * plain or HTML captions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean htmlCaptions;
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2023, 5, 6, 14, 30);
+
+    private final LocalDate localDate = localDateTime.toLocalDate();
+
+    private final LocalTime localTime = localDateTime.toLocalTime();
+
+    @Setup
+    public void setUp() {
+        Captions.use(htmlCaptions);
+    }
+
+    @Benchmark
+    public DateTimePanel dateTimePanel() {
+        return new DateTimePanel(localDateTime);
+    }
+
+    @Benchmark
+    public Dimension dateTimePanelPreferredSize() {
+        return new DateTimePanel(localDateTime).getPreferredSize();
+    }
+
+    @Benchmark
+    public DatePanel datePanel() {
+        return new DatePanel(localDate);
+    }
+
+    @Benchmark
+    public TimePanel timePanel() {
+        return new TimePanel(localTime);
+    }
+
+    @Benchmark
+    public DateTimeField dateTimeField() {
+        return new DateTimeField(localDateTime);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers to drive components the way Swing does, on the EDT, from a benchmark thread.
+ */
+final class Edt {
+
+    private Edt() {
+    }
+
+    static void run(Runnable runnable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Lays out {@code component} and all its descendants like a validate of a displayed window would.
+     */
+    static void layout(Component component) {
+        component.doLayout();
+        if (component instanceof Container container) {
+            for (var child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+
+    static List<JTextField> textFields(Container container) {
+        var textFields = new ArrayList<JTextField>();
+        collectTextFields(container, textFields);
+        return textFields;
+    }
+
+    private static void collectTextFields(Container container, List<JTextField> textFields) {
+        for (var child : container.getComponents()) {
+            if (child instanceof JTextField textField) {
+                textFields.add(textField);
+            } else if (child instanceof Container nested) {
+                collectTextFields(nested, textFields);
+            }
+        }
+    }
+}
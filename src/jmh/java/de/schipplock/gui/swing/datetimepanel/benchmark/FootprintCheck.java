@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DatePanel;
+import de.schipplock.gui.swing.datetimepanel.DateTimeField;
+import de.schipplock.gui.swing.datetimepanel.DateTimeModel;
+import de.schipplock.gui.swing.datetimepanel.TimePanel;
+
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by 10k lazy and 10k eager panels of each kind, and by 10k date time fields,
+ * in-process and fails if one retains more than its budget, to keep the per-instance footprint from
+ * regressing. Runs in the {@code verify} phase of the benchmark profile:
+ * <p>
+ * {@code mvn -P benchmark verify}
+ * <p>
+ * The budgets in bytes per panel can be overridden with {@code -Dfootprint.<lazy|eager>.datePanel},
+ * {@code -Dfootprint.<lazy|eager>.timePanel} and {@code -Dfootprint.dateTimeField}.
+ */
+public final class FootprintCheck {
+
+    private static final int PANELS = 10_000;
+
+    private FootprintCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean withinBudget = true;
+        for (var lazy : new boolean[]{true, false}) {
+            var mode = lazy ? "lazy" : "eager";
+            withinBudget &= check(mode + " DatePanel", () -> new DatePanel(new DateTimeModel(LocalDateTime.of(2024, 2, 29, 0, 0)), lazy),
+                    Long.getLong("footprint." + mode + ".datePanel", lazy ? 16_000 : 20_000));
+            withinBudget &= check(mode + " TimePanel", () -> new TimePanel(new DateTimeModel(LocalDateTime.of(2024, 2, 29, 23, 59)), Set.of(), lazy),
+                    Long.getLong("footprint." + mode + ".timePanel", lazy ? 12_000 : 34_000));
+        }
+        withinBudget &= check("DateTimeField", () -> new DateTimeField(LocalDateTime.of(2024, 2, 29, 23, 59)),
+                Long.getLong("footprint.dateTimeField", 2_000));
+        System.exit(withinBudget ? 0 : 1);
+    }
+
+    private static boolean check(String name, Supplier<JComponent> factory, long budget) throws Exception {
+        var panels = new ArrayList<JComponent>(PANELS);
+        // warm up caches and class loading so that only per-instance state is measured
+        SwingUtilities.invokeAndWait(() -> panels.add(factory.get()));
+        panels.clear();
+
+        long before = usedHeap();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < PANELS; i++) {
+                panels.add(factory.get());
+            }
+        });
+        long perPanel = (usedHeap() - before) / PANELS;
+        keep(panels);
+
+        System.out.printf("%s: %d bytes retained per panel, budget %d%n", name, perPanel, budget);
+        return perPanel <= budget;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        var memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private static void keep(List<JComponent> panels) {
+        if (panels.size() != PANELS) {
+            throw new IllegalStateException("panels were collected early");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimeField;
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edits as they arrive from the keyboard, including verification, marking and change dispatch. The edits
+ * run in batches on the EDT to keep the hand-over out of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(InputBenchmark.EDITS)
+public class InputBenchmark {
+
+    static final int EDITS = 1000;
+
+    private static final char[] digits = {'1', '2', '3', '4', '5', '6', '7', '8', '9', '0'};
+
+    private JTextField minuteTextField;
+
+    private DateTimeField field;
+
+    private KeyListener fieldKeyListener;
+
+    @Setup
+    public void setUp() {
+        Edt.run(() -> {
+            var panel = new DateTimePanel(LocalDateTime.of(2023, 5, 6, 14, 30));
+            panel.addValueChangeListener(event -> { });
+            var textFields = Edt.textFields(panel);
+            minuteTextField = textFields.get(textFields.size() - 1);
+            field = new DateTimeField(LocalDateTime.of(2023, 5, 6, 14, 30));
+            field.addValueChangeListener(event -> { });
+            fieldKeyListener = field.getKeyListeners()[0];
+        });
+    }
+
+    /**
+     * Replaces the minute like selecting it and typing a new value does.
+     */
+    @Benchmark
+    public void panelReplaceText() {
+        Edt.run(() -> {
+            var document = minuteTextField.getDocument();
+            for (int i = 0; i < EDITS; i++) {
+                try {
+                    document.remove(0, document.getLength());
+                    document.insertString(0, String.valueOf(i % 60), null);
+                } catch (BadLocationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    public void fieldKeyTyped() {
+        Edt.run(() -> {
+            for (int i = 0; i < EDITS; i++) {
+                fieldKeyListener.keyTyped(new KeyEvent(field, KeyEvent.KEY_TYPED, 0, 0, KeyEvent.VK_UNDEFINED, digits[i % digits.length]));
+            }
+        });
+    }
+}
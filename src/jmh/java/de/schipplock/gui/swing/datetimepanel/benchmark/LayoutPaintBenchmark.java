@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimeField;
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import net.miginfocom.swing.MigLayout;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layout and painting of a form with many panels or single-line fields, on the EDT and into an offscreen image,
+ * with plain or HTML captions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutPaintBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int panels;
+
+    @Param({"DateTimePanel", "DateTimeField"})
+    public String component;
+
+    @Param({"false", "true"})
+    public boolean htmlCaptions;
+
+    private JPanel form;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        Captions.use(htmlCaptions);
+        Edt.run(() -> {
+            form = new JPanel(new MigLayout("wrap 1"));
+            for (int i = 0; i < panels; i++) {
+                form.add("DateTimeField".equals(component) ? new DateTimeField() : new DateTimePanel());
+            }
+            form.setSize(form.getPreferredSize());
+            Edt.layout(form);
+            image = new BufferedImage(form.getWidth(), form.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        });
+    }
+
+    @Benchmark
+    public void layout() {
+        Edt.run(() -> {
+            form.invalidate();
+            Edt.layout(form);
+        });
+    }
+
+    @Benchmark
+    public void paint() {
+        Edt.run(() -> {
+            Graphics2D graphics = image.createGraphics();
+            try {
+                form.paint(graphics);
+            } finally {
+                graphics.dispose();
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import de.schipplock.gui.swing.datetimepanel.Messages;
+import de.schipplock.gui.swing.datetimepanel.TimeFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Message lookups as done by every panel while it is created and laid out, compared to the former
+ * {@code ResourceBundle.getBundle} lookup per call as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagesBenchmark {
+
+    @Param({"day.caption", "panel.date.field.year.constraints"})
+    public String key;
+
+    private DateTimePanel panel;
+
+    @Setup
+    public void setUp() {
+        panel = new DateTimePanel();
+    }
+
+    @Benchmark
+    public String baselineGetBundle() {
+        ResourceBundle bundle = ResourceBundle.getBundle(format("%s/i18n/MessagesBundle", DateTimePanel.class.getPackageName().replace(".", "/")));
+        return bundle.getString(key);
+    }
+
+    @Benchmark
+    public String messagesGet() {
+        return Messages.get().get(key);
+    }
+
+    @Benchmark
+    public String panelM() {
+        return panel.m(key);
+    }
+
+    @Benchmark
+    public TimeFormat timeFormatOf() {
+        return TimeFormat.of(Messages.get());
+    }
+}
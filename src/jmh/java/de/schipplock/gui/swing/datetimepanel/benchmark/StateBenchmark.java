@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import de.schipplock.gui.swing.datetimepanel.PanelState;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving, encoding, decoding and restoring the state of many panels, as done per user session.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+    @Param({"1000"})
+    public int states;
+
+    private DateTimePanel panel;
+
+    private final PanelState[] alternating = new PanelState[2];
+
+    private int restores;
+
+    private List<PanelState> saved;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Edt.run(() -> {
+            panel = new DateTimePanel(LocalDateTime.of(2024, 2, 29, 23, 59));
+            alternating[1] = panel.saveState();
+            panel.setLocalDateTime(LocalDateTime.of(2023, 5, 6, 14, 30));
+            alternating[0] = panel.saveState();
+        });
+        saved = new ArrayList<>(states);
+        for (int i = 0; i < states; i++) {
+            saved.add(alternating[i & 1]);
+        }
+        encoded = encode();
+    }
+
+    @Benchmark
+    public PanelState save() {
+        return panel.saveState();
+    }
+
+    /**
+     * Restores two different states in turn, so that every restore changes all fields.
+     */
+    @Benchmark
+    public void restore() {
+        var state = alternating[restores++ & 1];
+        Edt.run(() -> panel.restoreState(state));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        var bytes = new ByteArrayOutputStream(states * 64);
+        PanelState.writeAll(new DataOutputStream(bytes), saved);
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<PanelState> decode() throws IOException {
+        return PanelState.readAll(new DataInputStream(new ByteArrayInputStream(encoded)));
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Headless throughput check of a form with many panels: typing through key event dispatch, layout passes
+ * and painting into an offscreen image. Needs no display, runs under {@code java.awt.headless=true} or
+ * xvfb, and writes a JSON report.
+ * <p>
+ * Configured with system properties: {@code harness.panels} (100), {@code harness.keystrokes} (20000),
+ * {@code harness.passes} (50) and {@code harness.report} ({@code target/ui-harness.json}). The build fails if
+ * a limit given by {@code harness.minKeyEventsPerSecond}, {@code harness.maxLayoutMillis} or
+ * {@code harness.maxPaintMillis} is missed:
+ * <p>
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.main=de.schipplock.gui.swing.datetimepanel.benchmark.UiHarness
+ * -Dbenchmark.jvmArgs="-Dharness.minKeyEventsPerSecond=50000"}
+ */
+public final class UiHarness {
+
+    private final int panelCount = Integer.getInteger("harness.panels", 100);
+
+    private final int keystrokes = Integer.getInteger("harness.keystrokes", 20_000);
+
+    private final int passes = Integer.getInteger("harness.passes", 50);
+
+    private final AtomicLong valueChanges = new AtomicLong();
+
+    private final AtomicLong formLayouts = new AtomicLong();
+
+    private final AtomicLong panelLayouts = new AtomicLong();
+
+    private final List<JTextField> textFields = new ArrayList<>();
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    private JPanel form;
+
+    private UiHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var harness = new UiHarness();
+        Edt.run(harness::build);
+        // a first round warms up the JIT, only the second one is reported
+        harness.run();
+        harness.run();
+        harness.writeReport(Path.of(System.getProperty("harness.report", "target/ui-harness.json")));
+        System.exit(harness.withinLimits() ? 0 : 1);
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        form = new JPanel(new MigLayout("wrap 1")) {
+            @Override
+            public void doLayout() {
+                formLayouts.incrementAndGet();
+                super.doLayout();
+            }
+        };
+        for (int i = 0; i < panelCount; i++) {
+            var panel = new DateTimePanel(LocalDateTime.of(2023, 5, 6, 14, 30)) {
+                @Override
+                public void doLayout() {
+                    panelLayouts.incrementAndGet();
+                    super.doLayout();
+                }
+            };
+            panel.addValueChangeListener(event -> valueChanges.incrementAndGet());
+            form.add(panel);
+            for (var textField : Edt.textFields(panel)) {
+                if (textField.getColumns() == 2) {
+                    textFields.add(textField);
+                }
+            }
+        }
+        form.setSize(form.getPreferredSize());
+        Edt.layout(form);
+        report.put("coldConstructionMillis", millis(System.nanoTime() - start));
+    }
+
+    private void run() {
+        report.put("headless", GraphicsEnvironment.isHeadless());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("panels", panelCount);
+        Edt.run(this::type);
+        Edt.run(this::layout);
+        Edt.run(this::paint);
+    }
+
+    /**
+     * Types 01..12, valid in every two digit field, into one field after the other. Each keystroke is sent
+     * as pressed, typed and released event.
+     */
+    private void type() {
+        var focusManager = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+        long changesBefore = valueChanges.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < keystrokes; i++) {
+            int edit = i / 2;
+            var textField = textFields.get(edit % textFields.size());
+            if (i % 2 == 0) {
+                textField.selectAll();
+            }
+            int value = 1 + (edit + edit / textFields.size()) % 12;
+            char digit = (char) ('0' + (i % 2 == 0 ? value / 10 : value % 10));
+            long when = System.currentTimeMillis();
+            int keyCode = KeyEvent.getExtendedKeyCodeForChar(digit);
+            focusManager.redispatchEvent(textField, new KeyEvent(textField, KeyEvent.KEY_PRESSED, when, 0, keyCode, digit));
+            focusManager.redispatchEvent(textField, new KeyEvent(textField, KeyEvent.KEY_TYPED, when, 0, KeyEvent.VK_UNDEFINED, digit));
+            focusManager.redispatchEvent(textField, new KeyEvent(textField, KeyEvent.KEY_RELEASED, when, 0, keyCode, digit));
+        }
+        long elapsed = System.nanoTime() - start;
+        report.put("keystrokes", keystrokes);
+        report.put("keyEventsPerSecond", perSecond(3L * keystrokes, elapsed));
+        report.put("valueChanges", valueChanges.get() - changesBefore);
+        report.put("valueChangesPerSecond", perSecond(valueChanges.get() - changesBefore, elapsed));
+    }
+
+    /**
+     * Reports the layout passes counted in {@code doLayout} of the form and of the panels, not the passes
+     * requested.
+     */
+    private void layout() {
+        long formLayoutsBefore = formLayouts.get();
+        long panelLayoutsBefore = panelLayouts.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < passes; i++) {
+            form.invalidate();
+            Edt.layout(form);
+        }
+        long elapsed = System.nanoTime() - start;
+        long layoutPasses = formLayouts.get() - formLayoutsBefore;
+        report.put("layoutPasses", layoutPasses);
+        report.put("panelLayoutPasses", panelLayouts.get() - panelLayoutsBefore);
+        report.put("layoutMillis", layoutPasses == 0 ? 0.0 : millis(elapsed / layoutPasses));
+    }
+
+    private void paint() {
+        var image = new BufferedImage(Math.max(1, form.getWidth()), Math.max(1, form.getHeight()), BufferedImage.TYPE_INT_ARGB);
+        long start = System.nanoTime();
+        for (int i = 0; i < passes; i++) {
+            Graphics2D graphics = image.createGraphics();
+            try {
+                form.paint(graphics);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        report.put("paintPasses", passes);
+        report.put("paintMillis", millis(elapsed / passes));
+    }
+
+    private boolean withinLimits() {
+        boolean withinLimits = checkMin("keyEventsPerSecond", "harness.minKeyEventsPerSecond");
+        withinLimits &= checkMax("layoutMillis", "harness.maxLayoutMillis");
+        withinLimits &= checkMax("paintMillis", "harness.maxPaintMillis");
+        return withinLimits;
+    }
+
+    private boolean checkMin(String key, String property) {
+        var limit = System.getProperty(property);
+        if (limit == null || ((Number) report.get(key)).doubleValue() >= Double.parseDouble(limit)) {
+            return true;
+        }
+        System.err.printf("%s %s is below the minimum of %s%n", key, report.get(key), limit);
+        return false;
+    }
+
+    private boolean checkMax(String key, String property) {
+        var limit = System.getProperty(property);
+        if (limit == null || ((Number) report.get(key)).doubleValue() <= Double.parseDouble(limit)) {
+            return true;
+        }
+        System.err.printf("%s %s is above the maximum of %s%n", key, report.get(key), limit);
+        return false;
+    }
+
+    private void writeReport(Path path) throws IOException {
+        var json = new StringBuilder("{\n");
+        var entries = new ArrayList<>(report.entrySet());
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            var value = entry.getValue() instanceof String text ? quote(text) : String.valueOf(entry.getValue());
+            json.append(format("  %s: %s%s%n", quote(entry.getKey()), value, i < entries.size() - 1 ? "," : ""));
+        }
+        json.append("}\n");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, json);
+        System.out.print(json);
+    }
+
+    private static String quote(String text) {
+        var quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return nanos == 0 ? 0 : Math.round(count * 1_000_000_000.0 / nanos);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.DateTimeField;
+import de.schipplock.gui.swing.datetimepanel.DateTimeModel;
+import de.schipplock.gui.swing.datetimepanel.DateTimePanel;
+import de.schipplock.gui.swing.datetimepanel.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and validating the current value, as done by listeners and table editors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueBenchmark {
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2023, 5, 6, 14, 30);
+
+    private DateTimePanel panel;
+
+    private DateTimeField field;
+
+    @Setup
+    public void setUp() {
+        panel = new DateTimePanel(localDateTime);
+        field = new DateTimeField(localDateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime panelGetLocalDateTime() {
+        return panel.getLocalDateTime();
+    }
+
+    @Benchmark
+    public boolean panelIsValidDateTime() {
+        return panel.isValidDateTime();
+    }
+
+    @Benchmark
+    public ValidationResult panelValidateDateTime() {
+        return panel.validateDateTime();
+    }
+
+    @Benchmark
+    public LocalDateTime fieldGetLocalDateTime() {
+        return field.getLocalDateTime();
+    }
+
+    @Benchmark
+    public ValidationResult modelValidate() {
+        return DateTimeModel.validate(2023, 5, 6, 14, 30);
+    }
+}
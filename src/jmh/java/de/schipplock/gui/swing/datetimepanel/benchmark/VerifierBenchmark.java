@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.benchmark;
+
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
+import de.schipplock.gui.swing.datetimepanel.verifier.Verifier;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifier calls as done on every edit of a field, compared to the former {@code Integer.parseInt} lambdas as
+ * baseline for valid ({@code 2023}) and invalid ({@code 20x3}, empty) input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifierBenchmark {
+
+    @Param({"2023", "20x3", ""})
+    public String text;
+
+    private final RangeVerifier verifier = new RangeVerifier(2000, 9999);
+
+    private final Verifier baselineVerifier = value -> {
+        try {
+            return Integer.parseInt(value) >= 2000 && Integer.parseInt(value) <= 9999;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    };
+
+    private final Document document = new PlainDocument();
+
+    @Setup
+    public void setUp() throws BadLocationException {
+        document.insertString(0, text, null);
+    }
+
+    @Benchmark
+    public boolean baselineVerifyString() {
+        return baselineVerifier.verify(text);
+    }
+
+    @Benchmark
+    public boolean baselineVerifyDocument() {
+        return baselineVerifier.verify(document);
+    }
+
+    @Benchmark
+    public boolean verifyString() {
+        return verifier.verify(text);
+    }
+
+    @Benchmark
+    public boolean verifyDocument() {
+        return verifier.verify(document);
+    }
+
+    @Benchmark
+    public int parseDocument() {
+        return verifier.parse(document);
+    }
+}
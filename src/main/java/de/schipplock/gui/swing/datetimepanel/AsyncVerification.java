@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.verifier.AsyncVerifier;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Runs an {@link AsyncVerifier} for the latest value of a panel and hands the outcome to the EDT.
+ * <p>
+ * Only one verification is in flight, starting a new one cancels the previous. Outcomes are cached in a
+ * bounded LRU map keyed by value, so going back to a recent value is answered immediately. Apart from the
+ * cache, which is filled by the completing threads, all state is confined to the EDT.
+ *
+ * @param <T> the value type
+ */
+final class AsyncVerification<T> {
+
+    static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final AsyncVerifier<T> verifier;
+
+    private final Consumer<Boolean> resultConsumer;
+
+    private final Map<T, Boolean> cache;
+
+    private CompletableFuture<Boolean> inFlight;
+
+    private T inFlightValue;
+
+    private boolean rejected;
+
+    /**
+     * @param resultConsumer receives on the EDT whether the latest value was accepted; {@code true} as well
+     *                       for {@code null} values and failed verifications
+     */
+    AsyncVerification(AsyncVerifier<T> verifier, int cacheSize, Consumer<Boolean> resultConsumer) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("invalid cache size: " + cacheSize);
+        }
+        this.verifier = verifier;
+        this.resultConsumer = resultConsumer;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Verifies {@code value}, cancelling the verification of the previous value. The rejection of a previous
+     * value is lifted while the new one is verified. Must be called on the EDT.
+     */
+    void verify(T value) {
+        if (inFlight != null && value != null && value.equals(inFlightValue)) {
+            return;
+        }
+        cancel();
+        if (value == null) {
+            accept(true);
+            return;
+        }
+        var cached = getCached(value);
+        if (cached != null) {
+            accept(cached);
+            return;
+        }
+        if (rejected) {
+            accept(true);
+        }
+        var future = verifier.verify(value);
+        inFlight = future;
+        inFlightValue = value;
+        future.whenComplete((accepted, failure) -> {
+            if (failure == null && accepted != null) {
+                synchronized (cache) {
+                    cache.put(value, accepted);
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (inFlight == future) {
+                    inFlight = null;
+                    inFlightValue = null;
+                    accept(failure != null || accepted == null || accepted);
+                }
+            });
+        });
+    }
+
+    private void accept(boolean accepted) {
+        if (accepted && !rejected) {
+            return;
+        }
+        rejected = !accepted;
+        resultConsumer.accept(accepted);
+    }
+
+    /**
+     * @return the cached outcome for {@code value}, {@code null} if it was not verified recently
+     */
+    Boolean getCached(T value) {
+        synchronized (cache) {
+            return cache.get(value);
+        }
+    }
+
+    boolean isPending() {
+        return inFlight != null;
+    }
+
+    void cancel() {
+        if (inFlight != null) {
+            var future = inFlight;
+            inFlight = null;
+            inFlightValue = null;
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.Serial;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Month calendar that paints its cells directly from a cached {@link MonthGrid}.
+ * <p>
+ * Clicking a day or pressing Enter selects it, the arrow keys move the selection, PageUp/PageDown and
+ * the arrows in the header page through the months.
+ */
+public class CalendarView extends JComponent {
+
+    @Serial
+    private static final long serialVersionUID = 3975152447614128390L;
+
+    private static final int rows = MonthGrid.ROWS + 2;
+
+    private static final int columns = MonthGrid.COLUMNS + 1;
+
+    private static final String[] numbers = new String[54];
+
+    static {
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = Integer.toString(i);
+        }
+    }
+
+    private final WeekFields weekFields;
+
+    private final DateTimeFormatter titleFormatter;
+
+    private final String[] dayNames = new String[MonthGrid.COLUMNS];
+
+    private final Consumer<LocalDate> selectionConsumer;
+
+    private MonthGrid grid;
+
+    private LocalDate selectedDate;
+
+    public CalendarView(LocalDate selectedDate, Locale locale, Consumer<LocalDate> selectionConsumer) {
+        this.weekFields = WeekFields.of(locale);
+        this.titleFormatter = DateTimeFormatter.ofPattern("LLLL yyyy", locale);
+        this.selectionConsumer = selectionConsumer;
+        var firstDayOfWeek = weekFields.getFirstDayOfWeek();
+        for (int i = 0; i < dayNames.length; i++) {
+            dayNames[i] = firstDayOfWeek.plus(i).getDisplayName(TextStyle.SHORT_STANDALONE, locale);
+        }
+        setFocusable(true);
+        setOpaque(true);
+        setFont(UIManager.getFont("Label.font"));
+        setBackground(UIManager.getColor("TextField.background"));
+        setForeground(UIManager.getColor("TextField.foreground"));
+        setSelectedDate(selectedDate);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                handleClick(e.getX(), e.getY());
+            }
+        });
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                handleKey(e);
+            }
+        });
+    }
+
+    public LocalDate getSelectedDate() {
+        return selectedDate;
+    }
+
+    public void setSelectedDate(LocalDate selectedDate) {
+        this.selectedDate = selectedDate;
+        showMonth(YearMonth.from(selectedDate));
+    }
+
+    public void showMonth(YearMonth yearMonth) {
+        if (grid == null || !grid.getYearMonth().equals(yearMonth)) {
+            grid = MonthGrid.of(yearMonth, weekFields);
+        }
+        repaint();
+    }
+
+    private void handleClick(int x, int y) {
+        var cell = getCellSize();
+        int row = y / cell.height;
+        int column = x / cell.width;
+        if (row == 0) {
+            if (column == 0) {
+                showMonth(grid.getYearMonth().minusMonths(1));
+            } else if (column == columns - 1) {
+                showMonth(grid.getYearMonth().plusMonths(1));
+            }
+            return;
+        }
+        if (row < 2 || column < 1) {
+            return;
+        }
+        int day = grid.getDayOfMonth(row - 2, column - 1);
+        if (day > 0) {
+            selectedDate = grid.atDay(day);
+            selectionConsumer.accept(selectedDate);
+        }
+    }
+
+    private void handleKey(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT -> setSelectedDate(selectedDate.minusDays(1));
+            case KeyEvent.VK_RIGHT -> setSelectedDate(selectedDate.plusDays(1));
+            case KeyEvent.VK_UP -> setSelectedDate(selectedDate.minusWeeks(1));
+            case KeyEvent.VK_DOWN -> setSelectedDate(selectedDate.plusWeeks(1));
+            case KeyEvent.VK_PAGE_UP -> setSelectedDate(selectedDate.minusMonths(1));
+            case KeyEvent.VK_PAGE_DOWN -> setSelectedDate(selectedDate.plusMonths(1));
+            case KeyEvent.VK_ENTER -> selectionConsumer.accept(selectedDate);
+            default -> {
+                return;
+            }
+        }
+        e.consume();
+    }
+
+    private Dimension getCellSize() {
+        var metrics = getFontMetrics(getFont());
+        return new Dimension(metrics.stringWidth("000") + 6, metrics.getHeight() + 4);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        var cell = getCellSize();
+        return new Dimension(cell.width * columns, cell.height * rows);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        var g2 = (Graphics2D) g.create();
+        try {
+            var hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+            if (hints != null) {
+                g2.addRenderingHints(hints);
+            }
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            g2.setFont(getFont());
+            var metrics = g2.getFontMetrics();
+            var cell = getCellSize();
+            int baseline = (cell.height - metrics.getHeight()) / 2 + metrics.getAscent();
+            var disabled = UIManager.getColor("Label.disabledForeground");
+
+            g2.setColor(getForeground());
+            drawCentered(g2, metrics, "‹", 0, baseline, cell.width);
+            drawCentered(g2, metrics, "›", (columns - 1) * cell.width, baseline, cell.width);
+            drawCentered(g2, metrics, titleFormatter.format(grid.getYearMonth()), cell.width, baseline, cell.width * (columns - 2));
+
+            g2.setColor(disabled);
+            for (int column = 0; column < MonthGrid.COLUMNS; column++) {
+                drawCentered(g2, metrics, dayNames[column], (column + 1) * cell.width, cell.height + baseline, cell.width);
+            }
+
+            boolean selectedMonth = YearMonth.from(selectedDate).equals(grid.getYearMonth());
+            for (int row = 0; row < MonthGrid.ROWS; row++) {
+                int y = (row + 2) * cell.height;
+                g2.setColor(disabled);
+                drawCentered(g2, metrics, numbers[grid.getWeekNumber(row)], 0, y + baseline, cell.width);
+                for (int column = 0; column < MonthGrid.COLUMNS; column++) {
+                    int day = grid.getDayOfMonth(row, column);
+                    if (day == 0) {
+                        continue;
+                    }
+                    int x = (column + 1) * cell.width;
+                    if (selectedMonth && day == selectedDate.getDayOfMonth()) {
+                        g2.setColor(UIManager.getColor("TextField.selectionBackground"));
+                        g2.fillRect(x, y, cell.width, cell.height);
+                        g2.setColor(UIManager.getColor("TextField.selectionForeground"));
+                    } else {
+                        g2.setColor(isWeekend(column) ? disabled : getForeground());
+                    }
+                    drawCentered(g2, metrics, numbers[day], x, y + baseline, cell.width);
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private boolean isWeekend(int column) {
+        var dayOfWeek = weekFields.getFirstDayOfWeek().plus(column);
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    private static void drawCentered(Graphics2D g2, FontMetrics metrics, String text, int x, int baseline, int width) {
+        g2.drawString(text, x + (width - metrics.stringWidth(text)) / 2, baseline);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.Serial;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight plain-text caption painted in a small bold variant of the label font.
+ * <p>
+ * Derived fonts and text metrics are shared by all captions, so creating, measuring and painting a
+ * caption costs far less than a {@link JLabel} with an HTML view.
+ */
+public class CaptionLabel extends JComponent {
+
+    @Serial
+    private static final long serialVersionUID = -3839211585245019524L;
+
+    private static final float fontScale = 0.7f;
+
+    private static final Map<Font, Font> derivedFonts = new ConcurrentHashMap<>();
+
+    private static final Map<MetricsKey, Metrics> metricsCache = new ConcurrentHashMap<>();
+
+    private final String text;
+
+    private transient Metrics metrics;
+
+    public CaptionLabel(String text) {
+        this.text = text;
+        updateUI();
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public void updateUI() {
+        var labelFont = UIManager.getFont("Label.font");
+        if (labelFont != null) {
+            setFont(derivedFonts.computeIfAbsent(labelFont, font -> font.deriveFont(Font.BOLD, font.getSize2D() * fontScale)));
+        }
+        setForeground(UIManager.getColor("Label.foreground"));
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        metrics = null;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        var insets = getInsets();
+        var m = getMetrics();
+        return new Dimension(m.width() + insets.left + insets.right, m.height() + insets.top + insets.bottom);
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return isMinimumSizeSet() ? super.getMinimumSize() : getPreferredSize();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        var g2 = (Graphics2D) g.create();
+        try {
+            var hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+            if (hints != null) {
+                g2.addRenderingHints(hints);
+            }
+            var insets = getInsets();
+            g2.setFont(getFont());
+            g2.setColor(getForeground());
+            g2.drawString(text, insets.left, insets.top + getMetrics().ascent());
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private Metrics getMetrics() {
+        if (metrics == null) {
+            var font = getFont();
+            metrics = metricsCache.computeIfAbsent(new MetricsKey(font, text), key -> {
+                var fontMetrics = getFontMetrics(font);
+                return new Metrics(fontMetrics.stringWidth(text), fontMetrics.getAscent(), fontMetrics.getHeight());
+            });
+        }
+        return metrics;
+    }
+
+    private record MetricsKey(Font font, String text) {
+    }
+
+    private record Metrics(int width, int ascent, int height) {
+    }
+}
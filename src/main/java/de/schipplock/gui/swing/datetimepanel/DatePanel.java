@@ -17,14 +17,20 @@ package de.schipplock.gui.swing.datetimepanel;
 
 import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
 import de.schipplock.gui.swing.datetimepanel.exceptions.UnexpectedFieldException;
-import de.schipplock.gui.swing.datetimepanel.verifier.Verifier;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelConstructionEvent;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelLayoutEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import de.schipplock.gui.swing.datetimepanel.listener.ChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.StepListener;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeListener;
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
 import net.miginfocom.swing.MigLayout;
 
 import javax.swing.*;
+import java.awt.*;
 import java.io.Serial;
-import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.*;
 
 import static java.lang.String.format;
 
@@ -33,7 +39,22 @@ public class DatePanel extends JPanel implements Panel {
     @Serial
     private static final long serialVersionUID = 7313019012586822265L;
 
-    private final Set<JTextField> invalidTextFields = new HashSet<>();
+    private final DateTimeModel model;
+
+    private final PanelMetadata metadata = PanelMetadata.of(Messages.get());
+
+    private final InputVerifier inputVerifier = new InputVerifier() {
+        @Override
+        public boolean verify(JComponent input) {
+            return verifyField((JTextField) input);
+        }
+    };
+
+    private int invalidFields;
+
+    private final ChangeDispatcher changeDispatcher = new ChangeDispatcher();
+
+    private final ValueChangeDispatcher<LocalDate> valueChangeDispatcher = new ValueChangeDispatcher<>(this, this::getValidLocalDate);
 
     private final JTextField yearTextField = new JTextField(4);
 
@@ -41,128 +62,404 @@ public class DatePanel extends JPanel implements Panel {
 
     private final JTextField dayTextField = new JTextField(2);
 
-    private final Verifier dayVerifier = (Verifier & Serializable) value -> {
-        try {
-            return Integer.parseInt(value) >= 1 && Integer.parseInt(value) <= 31;
-        } catch (NumberFormatException ex) {
-            return false;
-        }
-    };
+    private boolean realized;
 
-    private final Verifier monthVerifier = (Verifier & Serializable) value -> {
-        try {
-            return Integer.parseInt(value) >= 1 && Integer.parseInt(value) <= 12;
-        } catch (NumberFormatException ex) {
-            return false;
-        }
-    };
+    private boolean bindingModel;
 
-    private final Verifier yearVerifier = (Verifier & Serializable) value -> {
-        try {
-            return Integer.parseInt(value) >= 2000;
-        } catch (NumberFormatException ex) {
-            return false;
-        }
-    };
+    private boolean calendarPopupEnabled;
 
-    public DatePanel(LocalDate localDate) {
+    private JButton calendarButton;
+
+    private JPopupMenu calendarPopup;
+
+    private CalendarView calendarView;
+
+    private final RangeVerifier yearVerifier;
+
+    /**
+     * Creates a panel that shows and edits the date part of {@code model}. Changes of the model made on
+     * other threads are shown on the EDT. Only years within the bounds of the model can be entered, dates
+     * out of bounds are shown red.
+     *
+     * @param lazy whether captions, tooltips and separators are only created once the panel is shown or
+     *             measured, see {@link Panel#lazyRealization}
+     */
+    public DatePanel(DateTimeModel model, boolean lazy) {
         super(new MigLayout(Panel.getLayoutConstraints()), true);
 
+        var event = new PanelConstructionEvent();
+        event.begin();
+
+        this.model = model;
+        this.yearVerifier = PanelMetadata.yearVerifier(model);
+
         setBorder(new PanelBorder());
 
-        var dayLabel = new JLabel(m("day.caption"));
-        dayTextField.setText(String.valueOf(localDate.getDayOfMonth()));
-        dayTextField.setToolTipText(m("day.tooltip"));
+        var snapshot = model.getSnapshot();
+
+        dayTextField.setText(segmentText(snapshot.day()));
         dayTextField.setHorizontalAlignment(SwingConstants.CENTER);
 
-        var monthLabel = new JLabel(m("month.caption"));
-        monthTextField.setText(String.valueOf(localDate.getMonthValue()));
-        monthTextField.setToolTipText(m("month.tooltip"));
+        monthTextField.setText(segmentText(snapshot.month()));
         monthTextField.setHorizontalAlignment(SwingConstants.CENTER);
 
-        var yearLabel = new JLabel(m("year.caption"));
-        yearTextField.setText(String.valueOf(localDate.getYear()));
-        yearTextField.setToolTipText(m("year.tooltip"));
+        yearTextField.setText(segmentText(snapshot.year()));
         yearTextField.setHorizontalAlignment(SwingConstants.CENTER);
 
-        dayTextField.addKeyListener(createTextFieldKeyListener(invalidTextFields, dayVerifier));
-        monthTextField.addKeyListener(createTextFieldKeyListener(invalidTextFields, monthVerifier));
-        yearTextField.addKeyListener(createTextFieldKeyListener(invalidTextFields, yearVerifier));
-
-        Queue<JTextField> dateFieldQueue = new LinkedList<>();
-        Queue<JLabel> dateLabelQueue = new LinkedList<>();
-
-        var fields = m("date.ui.fields").split("");
-
-        for (var field : fields) {
-            switch (field) {
-                case "d" -> {
-                    dayLabel.putClientProperty("constraints", m("panel.date.field.day.constraints"));
-                    dayTextField.putClientProperty("constraints", m("panel.date.field.day.constraints"));
-                    dateLabelQueue.add(dayLabel);
-                    dateFieldQueue.add(dayTextField);
-                }
-                case "m" -> {
-                    monthLabel.putClientProperty("constraints", m("panel.date.field.month.constraints"));
-                    monthTextField.putClientProperty("constraints", m("panel.date.field.month.constraints"));
-                    dateLabelQueue.add(monthLabel);
-                    dateFieldQueue.add(monthTextField);
-                }
-                case "y" -> {
-                    yearLabel.putClientProperty("constraints", m("panel.date.field.year.constraints"));
-                    yearTextField.putClientProperty("constraints", m("panel.date.field.year.constraints"));
-                    dateLabelQueue.add(yearLabel);
-                    dateFieldQueue.add(yearTextField);
-                }
-                default -> throw new UnexpectedFieldException(format("%s is not a valid field", field));
+        changeDispatcher.add(this::updateModel);
+        changeDispatcher.add(this::verifyDayOfMonth);
+        changeDispatcher.add(this::verifyBounds);
+        changeDispatcher.add(valueChangeDispatcher);
+        installTextFieldVerifier(dayTextField, PanelMetadata.DAY_VERIFIER, inputVerifier, changeDispatcher);
+        installTextFieldVerifier(monthTextField, PanelMetadata.MONTH_VERIFIER, inputVerifier, changeDispatcher);
+        installTextFieldVerifier(yearTextField, yearVerifier, inputVerifier, changeDispatcher);
+        StepListener.install(dayTextField, amount -> model.step(Segment.DAY, amount));
+        StepListener.install(monthTextField, amount -> model.step(Segment.MONTH, amount));
+        StepListener.install(yearTextField, amount -> model.step(Segment.YEAR, amount));
+
+        model.addListener(e -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                bindModel();
+            } else {
+                SwingUtilities.invokeLater(this::bindModel);
             }
+        });
+
+        verifyBounds();
+
+        if (!lazy) {
+            realize();
+        }
+
+        event.commit(this);
+    }
+
+    public DatePanel(DateTimeModel model) {
+        this(model, lazyRealization);
+    }
+
+    public DatePanel(LocalDate localDate) {
+        this(new DateTimeModel(localDate.atStartOfDay()));
+    }
+
+    /**
+     * Creates captions, tooltips and separators and lays out the panel, unless that happened already.
+     */
+    private void realize() {
+        if (realized) {
+            return;
+        }
+        realized = true;
+
+        dayTextField.setToolTipText(m("day.tooltip"));
+        monthTextField.setToolTipText(m("month.tooltip"));
+        yearTextField.setToolTipText(m("year.tooltip"));
+
+        metadata.datePlan().layout(this, this::createCaption, this::textField, () -> createSeparator("date.ui.fields.separator"));
+
+        if (calendarPopupEnabled) {
+            addCalendarButton();
+        }
+    }
+
+    private boolean verifyField(JTextField textField) {
+        var segment = textField == dayTextField ? Segment.DAY : textField == monthTextField ? Segment.MONTH : Segment.YEAR;
+        invalidFields = verifyTextField(textField, segment, invalidFields, verifier(segment));
+        return (invalidFields & segment.mask()) == 0;
+    }
+
+    private RangeVerifier verifier(Segment segment) {
+        return switch (segment) {
+            case DAY -> PanelMetadata.DAY_VERIFIER;
+            case MONTH -> PanelMetadata.MONTH_VERIFIER;
+            case YEAR -> yearVerifier;
+            default -> throw new UnexpectedFieldException(format("%s is not a date field", segment));
+        };
+    }
+
+    private JTextField textField(Segment segment) {
+        return switch (segment) {
+            case DAY -> dayTextField;
+            case MONTH -> monthTextField;
+            case YEAR -> yearTextField;
+            default -> throw new UnexpectedFieldException(format("%s is not a date field", segment));
+        };
+    }
+
+    /**
+     * Shows a button next to the fields that opens a month calendar to pick the date from.
+     */
+    public void setCalendarPopupEnabled(boolean enabled) {
+        if (calendarPopupEnabled == enabled) {
+            return;
+        }
+        calendarPopupEnabled = enabled;
+        if (!realized) {
+            return;
         }
+        if (enabled) {
+            addCalendarButton();
+        } else {
+            remove(calendarButton);
+        }
+        revalidate();
+        repaint();
+    }
+
+    public boolean isCalendarPopupEnabled() {
+        return calendarPopupEnabled;
+    }
+
+    private void addCalendarButton() {
+        if (calendarButton == null) {
+            calendarButton = new JButton("\u25BE");
+            calendarButton.setMargin(new Insets(0, 2, 0, 2));
+            calendarButton.setFocusable(false);
+            calendarButton.addActionListener(e -> showCalendarPopup());
+        }
+        add(calendarButton, LayoutConstraints.component(format("cell %d 1", 2 * metadata.datePlan().segments().size() - 1)));
+    }
 
-        var label = dateLabelQueue.poll();
-        add(label, format("%s, span 2", label.getClientProperty("constraints")));
+    private void showCalendarPopup() {
+        var date = isValidDate() ? getLocalDate() : LocalDate.now();
+        if (calendarPopup == null) {
+            calendarView = new CalendarView(date, Messages.get().getLocale(), selected -> {
+                calendarPopup.setVisible(false);
+                bind(selected);
+            });
+            calendarPopup = new JPopupMenu();
+            calendarPopup.add(calendarView);
+        } else {
+            calendarView.setSelectedDate(date);
+        }
+        calendarPopup.show(this, 0, getHeight());
+        calendarView.requestFocusInWindow();
+    }
 
-        label = dateLabelQueue.poll();
-        add(label, format("%s, span 2", label.getClientProperty("constraints")));
+    @Override
+    public void addNotify() {
+        realize();
+        super.addNotify();
+    }
 
-        label = dateLabelQueue.poll();
-        add(label, format("%s, wrap", label.getClientProperty("constraints")));
+    @Override
+    public Dimension getPreferredSize() {
+        realize();
+        return super.getPreferredSize();
+    }
 
-        var field = dateFieldQueue.poll();
-        add(field, field.getClientProperty("constraints"));
-        add(new JLabel(m("date.ui.fields.separator")), "");
+    @Override
+    public Dimension getMinimumSize() {
+        realize();
+        return super.getMinimumSize();
+    }
 
-        field = dateFieldQueue.poll();
-        add(field, field.getClientProperty("constraints"));
-        add(new JLabel(m("date.ui.fields.separator")), "");
+    @Override
+    public Dimension getMaximumSize() {
+        realize();
+        return super.getMaximumSize();
+    }
 
-        field = dateFieldQueue.poll();
-        add(field, format("%s, wrap", field.getClientProperty("constraints")));
+    @Override
+    public void doLayout() {
+        var event = new PanelLayoutEvent();
+        event.begin();
+        super.doLayout();
+        event.commit(this);
     }
 
     public DatePanel() {
         this(LocalDate.now());
     }
 
+    /**
+     * Shows the given value. Listeners are notified once, or not at all within {@link BatchUpdate#run(Runnable)}.
+     * Off the EDT the value is a plain model update and shown on the EDT.
+     */
+    public void setLocalDate(LocalDate localDate) {
+        BatchUpdate.coalesce(() -> {
+            bind(localDate);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void bind(LocalDate localDate) {
+        model.setLocalDate(localDate);
+    }
+
+    /**
+     * Empties the fields, e.g. for a {@code null} table cell.
+     */
+    void clear() {
+        model.setDate(DateTimeModel.INVALID, DateTimeModel.INVALID, DateTimeModel.INVALID);
+    }
+
+    /**
+     * @return the date, the texts and the invalid fields of this panel, see {@link PanelState}
+     */
+    public PanelState saveState() {
+        var texts = PanelState.newTexts();
+        saveTexts(texts);
+        return new PanelState(getValidLocalDate(), null, null, texts, invalidFields);
+    }
+
+    /**
+     * Restores a state saved by this or another panel, only the date part is applied. Listeners are
+     * notified once, or not at all within {@link BatchUpdate#run(Runnable)}. Must be called on the EDT.
+     */
+    public void restoreState(PanelState state) {
+        BatchUpdate.coalesce(() -> {
+            model.restore(state.getLocalDate(), null, null);
+            restoreTexts(state);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void saveTexts(String[] texts) {
+        texts[Segment.DAY.ordinal()] = dayTextField.getText();
+        texts[Segment.MONTH.ordinal()] = monthTextField.getText();
+        texts[Segment.YEAR.ordinal()] = yearTextField.getText();
+    }
+
+    void restoreTexts(PanelState state) {
+        restoreText(dayTextField, Segment.DAY, state);
+        restoreText(monthTextField, Segment.MONTH, state);
+        restoreText(yearTextField, Segment.YEAR, state);
+    }
+
+    private void restoreText(JTextField textField, Segment segment, PanelState state) {
+        var text = state.getText(segment);
+        if (text != null) {
+            updateText(textField, text);
+        }
+        if (state.isInvalid(segment)) {
+            invalidFields = markTextField(textField, segment, invalidFields, false);
+        }
+    }
+
+    int getInvalidFields() {
+        return invalidFields;
+    }
+
+    public DateTimeModel getModel() {
+        return model;
+    }
+
+    /**
+     * Writes the entered values to the model, {@link DateTimeModel#INVALID} for fields that don't hold a
+     * valid number.
+     */
+    private void updateModel() {
+        if (bindingModel) {
+            return;
+        }
+        model.setDate(yearVerifier.parse(yearTextField.getDocument()), PanelMetadata.MONTH_VERIFIER.parse(monthTextField.getDocument()),
+                PanelMetadata.DAY_VERIFIER.parse(dayTextField.getDocument()));
+    }
+
+    /**
+     * Shows the date part of the model, touching only the fields whose value differs from the model.
+     */
+    private void bindModel() {
+        var snapshot = model.getSnapshot();
+        BatchUpdate.coalesce(() -> {
+            bindingModel = true;
+            try {
+                bindSegment(yearTextField, yearVerifier, snapshot.year());
+                bindSegment(monthTextField, PanelMetadata.MONTH_VERIFIER, snapshot.month());
+                bindSegment(dayTextField, PanelMetadata.DAY_VERIFIER, snapshot.day());
+            } finally {
+                bindingModel = false;
+            }
+        });
+    }
+
+    private void bindSegment(JTextField textField, RangeVerifier verifier, int value) {
+        if (verifier.parse(textField.getDocument()) != value) {
+            updateText(textField, segmentText(value));
+        }
+    }
+
+    private static String segmentText(int value) {
+        return value == DateTimeModel.INVALID ? "" : String.valueOf(value);
+    }
+
     public LocalDate getLocalDate() {
-        if (!invalidTextFields.isEmpty()) {
-            throw new InvalidDateValuesException(format("could not create LocalTime object for given time values, year: %s, month: %s, day: %s",
-                    yearTextField.getText(), monthTextField.getText(), dayTextField.getText()));
+        var snapshot = model.getSnapshot();
+        if (model.validateDate(snapshot) instanceof ValidationResult.Invalid invalid) {
+            throw new InvalidDateValuesException(format("could not create LocalDate object for given date values, year: %s, month: %s, day: %s (%s)",
+                    yearTextField.getText(), monthTextField.getText(), dayTextField.getText(), invalid.reason()));
+        }
+        return snapshot.toLocalDate();
+    }
+
+    /**
+     * Validates the entered date including the length of the month and the bounds of the model, without
+     * throwing.
+     */
+    public ValidationResult validateDate() {
+        return model.validateDate(model.getSnapshot());
+    }
+
+    private void verifyDayOfMonth() {
+        if (validateDate() == DateTimeModel.INVALID_DAY_OF_MONTH) {
+            invalidFields = markTextField(dayTextField, Segment.DAY, invalidFields, false);
+        } else if (PanelMetadata.DAY_VERIFIER.verify(dayTextField.getDocument())) {
+            invalidFields = markTextField(dayTextField, Segment.DAY, invalidFields, true);
+        }
+    }
+
+    private void verifyBounds() {
+        var result = validateDate();
+        markOutOfRange(result == DateTimeModel.INVALID_BEFORE_MIN || result == DateTimeModel.INVALID_AFTER_MAX);
+    }
+
+    /**
+     * Marks all fields invalid while an asynchronous verifier rejects the value, otherwise verifies them
+     * again.
+     */
+    void markRejected(boolean rejected) {
+        if (rejected) {
+            invalidFields = markTextField(dayTextField, Segment.DAY, invalidFields, false);
+            invalidFields = markTextField(monthTextField, Segment.MONTH, invalidFields, false);
+            invalidFields = markTextField(yearTextField, Segment.YEAR, invalidFields, false);
+            return;
         }
-        return LocalDate.of(Integer.parseInt(yearTextField.getText()), Integer.parseInt(monthTextField.getText()), Integer.parseInt(dayTextField.getText()));
+        verifyField(dayTextField);
+        verifyField(monthTextField);
+        verifyField(yearTextField);
+        verifyDayOfMonth();
+        verifyBounds();
+    }
+
+    void markOutOfRange(boolean outOfRange) {
+        highlightTextField(dayTextField, Segment.DAY, invalidFields, outOfRange);
+        highlightTextField(monthTextField, Segment.MONTH, invalidFields, outOfRange);
+        highlightTextField(yearTextField, Segment.YEAR, invalidFields, outOfRange);
+    }
+
+    void addChangeNotifier(Runnable changeNotifier) {
+        changeDispatcher.add(changeNotifier);
     }
 
     public void onChange(Runnable changeNotifier) {
-        yearTextField.addKeyListener(createChangeNotifierKeyListener(changeNotifier));
-        monthTextField.addKeyListener(createChangeNotifierKeyListener(changeNotifier));
-        dayTextField.addKeyListener(createChangeNotifierKeyListener(changeNotifier));
+        changeDispatcher.add(BatchUpdate.batched(changeNotifier));
+    }
+
+    public void addValueChangeListener(ValueChangeListener<LocalDate> listener) {
+        valueChangeDispatcher.add(listener);
+    }
+
+    public void removeValueChangeListener(ValueChangeListener<LocalDate> listener) {
+        valueChangeDispatcher.remove(listener);
+    }
+
+    private LocalDate getValidLocalDate() {
+        var snapshot = model.getSnapshot();
+        return model.validateDate(snapshot).isValid() ? snapshot.toLocalDate() : null;
     }
 
     public boolean isValidDate() {
-        try {
-            getLocalDate();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return validateDate().isValid();
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import javax.swing.*;
+import javax.swing.table.TableCellEditor;
+import java.awt.*;
+import java.io.Serial;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Edits {@link LocalDate}, {@link LocalTime} and {@link LocalDateTime} cells of a {@link JTable}.
+ * <p>
+ * One panel per value type is created on first use and rebound for every edited cell, {@code null} cells
+ * start with empty fields. Editing can only be stopped while the panel holds a valid value.
+ */
+public class DateTimeCellEditor extends AbstractCellEditor implements TableCellEditor {
+
+    @Serial
+    private static final long serialVersionUID = -5235398548081497437L;
+
+    private DatePanel datePanel;
+
+    private TimePanel timePanel;
+
+    private DateTimePanel dateTimePanel;
+
+    private JPanel editorPanel;
+
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+        var valueClass = value == null ? table.getColumnClass(column) : value.getClass();
+        if (LocalDate.class.isAssignableFrom(valueClass)) {
+            if (datePanel == null) {
+                datePanel = new DatePanel();
+            }
+            if (value == null) {
+                datePanel.clear();
+            } else {
+                datePanel.bind((LocalDate) value);
+            }
+            editorPanel = datePanel;
+        } else if (LocalTime.class.isAssignableFrom(valueClass)) {
+            if (timePanel == null) {
+                timePanel = new TimePanel();
+            }
+            if (value == null) {
+                timePanel.clear();
+            } else {
+                timePanel.bind((LocalTime) value);
+            }
+            editorPanel = timePanel;
+        } else {
+            if (dateTimePanel == null) {
+                dateTimePanel = new DateTimePanel();
+            }
+            if (value instanceof LocalDateTime localDateTime) {
+                dateTimePanel.bind(localDateTime);
+            } else {
+                dateTimePanel.clear();
+            }
+            editorPanel = dateTimePanel;
+        }
+        return editorPanel;
+    }
+
+    @Override
+    public Object getCellEditorValue() {
+        if (editorPanel instanceof DatePanel panel) {
+            return panel.isValidDate() ? panel.getLocalDate() : null;
+        }
+        if (editorPanel instanceof TimePanel panel) {
+            return panel.isValidTime() ? panel.getLocalTime() : null;
+        }
+        if (editorPanel instanceof DateTimePanel panel) {
+            return panel.isValidDateTime() ? panel.getLocalDateTime() : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean stopCellEditing() {
+        if (getCellEditorValue() == null) {
+            return false;
+        }
+        return super.stopCellEditing();
+    }
+}
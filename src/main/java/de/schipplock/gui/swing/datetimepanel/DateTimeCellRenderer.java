@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.io.Serial;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Renders {@link LocalDate}, {@link LocalTime} and {@link LocalDateTime} cells of a {@link JTable} or {@link JList}.
+ * <p>
+ * One panel per value type is created on first use and reused for every cell (flyweight). Only values
+ * that differ from the value last rendered by the same panel are bound, {@code null} shows empty fields,
+ * and the panels neither revalidate nor repaint themselves; the table or list paints them through its
+ * {@link CellRendererPane}.
+ */
+public class DateTimeCellRenderer implements TableCellRenderer, ListCellRenderer<Object> {
+
+    private DatePanel datePanel;
+
+    private TimePanel timePanel;
+
+    private DateTimePanel dateTimePanel;
+
+    private static final Object unbound = new Object();
+
+    private Object boundDate = unbound;
+
+    private Object boundTime = unbound;
+
+    private Object boundDateTime = unbound;
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+        var background = isSelected ? table.getSelectionBackground() : table.getBackground();
+        return getRendererComponent(value, background, table.getColumnClass(column));
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+        var background = isSelected ? list.getSelectionBackground() : list.getBackground();
+        return getRendererComponent(value, background, value == null ? LocalDateTime.class : value.getClass());
+    }
+
+    private Component getRendererComponent(Object value, Color background, Class<?> valueClass) {
+        JPanel panel;
+        if (value instanceof LocalDate || value == null && LocalDate.class.isAssignableFrom(valueClass)) {
+            panel = getDatePanel();
+            if (!Objects.equals(boundDate, value)) {
+                if (value == null) {
+                    datePanel.clear();
+                } else {
+                    datePanel.bind((LocalDate) value);
+                }
+                boundDate = value;
+            }
+        } else if (value instanceof LocalTime || value == null && LocalTime.class.isAssignableFrom(valueClass)) {
+            panel = getTimePanel();
+            if (!Objects.equals(boundTime, value)) {
+                if (value == null) {
+                    timePanel.clear();
+                } else {
+                    timePanel.bind((LocalTime) value);
+                }
+                boundTime = value;
+            }
+        } else {
+            panel = getDateTimePanel();
+            var localDateTime = value instanceof LocalDateTime ? value : null;
+            if (!Objects.equals(boundDateTime, localDateTime)) {
+                if (localDateTime == null) {
+                    dateTimePanel.clear();
+                } else {
+                    dateTimePanel.bind((LocalDateTime) localDateTime);
+                }
+                boundDateTime = localDateTime;
+            }
+        }
+        if (!background.equals(panel.getBackground())) {
+            panel.setBackground(background);
+        }
+        return panel;
+    }
+
+    private DatePanel getDatePanel() {
+        if (datePanel == null) {
+            datePanel = new RendererDatePanel();
+        }
+        return datePanel;
+    }
+
+    private TimePanel getTimePanel() {
+        if (timePanel == null) {
+            timePanel = new RendererTimePanel();
+        }
+        return timePanel;
+    }
+
+    private DateTimePanel getDateTimePanel() {
+        if (dateTimePanel == null) {
+            dateTimePanel = new RendererDateTimePanel();
+        }
+        return dateTimePanel;
+    }
+
+    private static class RendererDatePanel extends DatePanel {
+
+        @Serial
+        private static final long serialVersionUID = 5870097408530029896L;
+
+        @Override
+        public void revalidate() {
+        }
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+        }
+
+        @Override
+        public void repaint(Rectangle r) {
+        }
+    }
+
+    private static class RendererTimePanel extends TimePanel {
+
+        @Serial
+        private static final long serialVersionUID = -1834198400719761458L;
+
+        @Override
+        public void revalidate() {
+        }
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+        }
+
+        @Override
+        public void repaint(Rectangle r) {
+        }
+    }
+
+    private static class RendererDateTimePanel extends DateTimePanel {
+
+        @Serial
+        private static final long serialVersionUID = -8394369782086383910L;
+
+        @Override
+        public void revalidate() {
+        }
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+        }
+
+        @Override
+        public void repaint(Rectangle r) {
+        }
+    }
+}
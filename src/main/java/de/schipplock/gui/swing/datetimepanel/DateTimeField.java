@@ -0,0 +1,478 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
+import de.schipplock.gui.swing.datetimepanel.exceptions.UnexpectedFieldException;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelConstructionEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import de.schipplock.gui.swing.datetimepanel.listener.ChangeCoalescing;
+import de.schipplock.gui.swing.datetimepanel.listener.ChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.CoalescingChangeNotifier;
+import de.schipplock.gui.swing.datetimepanel.listener.StepListener;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeListener;
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.Serial;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Single-component alternative to {@link DateTimePanel}.
+ * <p>
+ * The segments are painted by the component itself instead of being built from nested panels, text
+ * fields, labels and a combo box. Left/Right (and Home/End) move between segments, digits are typed into
+ * the selected segment and advance to the next one once it is complete, Backspace deletes the last digit,
+ * and {@code a}/{@code p} select AM/PM.
+ */
+public class DateTimeField extends JComponent implements Panel {
+
+    @Serial
+    private static final long serialVersionUID = -5310867003547829716L;
+
+    private static final String[] ampmTexts = {"AM", "PM"};
+
+    private static final int YEAR_COLUMNS = 4;
+
+    private final ChangeDispatcher changeDispatcher = new ChangeDispatcher();
+
+    private final ValueChangeDispatcher<LocalDateTime> valueChangeDispatcher = new ValueChangeDispatcher<>(this, this::getValidLocalDateTime);
+
+    private final PanelMetadata metadata = PanelMetadata.of(Messages.get());
+
+    private final Segment[] segments;
+
+    private final String[] separators;
+
+    private final RangeVerifier[] verifiers;
+
+    private final String[] texts;
+
+    private int selectedSegment;
+
+    private boolean pm;
+
+    private boolean typing;
+
+    public DateTimeField(LocalDateTime localDateTime) {
+        var event = new PanelConstructionEvent();
+        event.begin();
+
+        var segmentList = new ArrayList<Segment>();
+        var separatorList = new ArrayList<String>();
+        var dateSeparator = format(" %s ", m("date.ui.fields.separator"));
+
+        for (var segment : metadata.datePlan().segments()) {
+            segmentList.add(segment);
+            separatorList.add(dateSeparator);
+        }
+        separatorList.set(separatorList.size() - 1, "  ");
+        segmentList.add(Segment.HOUR);
+        separatorList.add(":");
+        segmentList.add(Segment.MINUTE);
+        separatorList.add("");
+        if (metadata.timeFormat().isTwelveHour()) {
+            separatorList.set(separatorList.size() - 1, " ");
+            segmentList.add(Segment.AMPM);
+            separatorList.add("");
+        }
+
+        segments = segmentList.toArray(new Segment[0]);
+        separators = separatorList.toArray(new String[0]);
+        verifiers = new RangeVerifier[segments.length];
+        texts = new String[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            verifiers[i] = switch (segments[i]) {
+                case DAY -> PanelMetadata.DAY_VERIFIER;
+                case MONTH -> PanelMetadata.MONTH_VERIFIER;
+                case YEAR -> PanelMetadata.YEAR_VERIFIER;
+                case HOUR -> metadata.hourVerifier();
+                case MINUTE -> PanelMetadata.MINUTE_VERIFIER;
+                default -> null;
+            };
+        }
+
+        changeDispatcher.add(valueChangeDispatcher);
+        bind(localDateTime);
+
+        setFocusable(true);
+        setOpaque(true);
+        setFont(UIManager.getFont("TextField.font"));
+        setBorder(UIManager.getBorder("TextField.border"));
+        setBackground(UIManager.getColor("TextField.background"));
+        setForeground(UIManager.getColor("TextField.foreground"));
+        setToolTipText(m(segments[0].name().toLowerCase(Locale.ROOT) + ".tooltip"));
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                handleKeyPressed(e);
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+                handleKeyTyped(e.getKeyChar());
+            }
+        });
+        StepListener.install(this, this::stepSelectedSegment);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                selectSegment(segmentAt(e.getX()));
+            }
+        });
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                repaint();
+            }
+
+            @Override
+            public void focusLost(FocusEvent e) {
+                typing = false;
+                repaint();
+            }
+        });
+
+        event.commit(this);
+    }
+
+    public DateTimeField() {
+        this(LocalDateTime.now());
+    }
+
+    /**
+     * Shows the given value. Listeners are notified once, or not at all within {@link BatchUpdate#run(Runnable)}.
+     * Must be called on the EDT.
+     */
+    public void setLocalDateTime(LocalDateTime localDateTime) {
+        BatchUpdate.coalesce(() -> {
+            bind(localDateTime);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void bind(LocalDateTime localDateTime) {
+        var localTime = localDateTime.toLocalTime();
+        boolean changed = false;
+        for (int i = 0; i < segments.length; i++) {
+            var text = switch (segments[i]) {
+                case DAY -> String.valueOf(localDateTime.getDayOfMonth());
+                case MONTH -> String.valueOf(localDateTime.getMonthValue());
+                case YEAR -> String.valueOf(localDateTime.getYear());
+                case HOUR -> metadata.timeFormat().formatHour(localTime);
+                case MINUTE -> metadata.timeFormat().formatMinute(localTime);
+                default -> null;
+            };
+            if (text != null && !text.equals(texts[i])) {
+                texts[i] = text;
+                changed = true;
+            }
+        }
+        if (pm != metadata.timeFormat().isPm(localTime)) {
+            pm = !pm;
+            changed = true;
+        }
+        if (changed) {
+            changeDispatcher.run();
+            repaint();
+        }
+    }
+
+    public LocalDateTime getLocalDateTime() {
+        if (validateDateTime() instanceof ValidationResult.Invalid invalid) {
+            throw new InvalidDateValuesException(format("could not create LocalDateTime object for given values %s (%s)", getText(), invalid.reason()));
+        }
+        var localTime = metadata.timeFormat().toLocalTime(value(Segment.HOUR), value(Segment.MINUTE), pm);
+        return LocalDateTime.of(value(Segment.YEAR), value(Segment.MONTH), value(Segment.DAY), localTime.getHour(), localTime.getMinute());
+    }
+
+    /**
+     * Validates the entered date and time including the length of the month, without throwing.
+     */
+    public ValidationResult validateDateTime() {
+        return DateTimeModel.validate(value(Segment.YEAR), value(Segment.MONTH), value(Segment.DAY), enteredHourOfDay(), value(Segment.MINUTE));
+    }
+
+    public boolean isValidDateTime() {
+        return validateDateTime().isValid();
+    }
+
+    public void onChange(Runnable changeNotifier) {
+        changeDispatcher.add(BatchUpdate.batched(changeNotifier));
+    }
+
+    /**
+     * Registers a consumer that receives the last valid value of a burst of changes.
+     */
+    public void onChange(Consumer<LocalDateTime> consumer, ChangeCoalescing coalescing) {
+        var notifier = CoalescingChangeNotifier.of(valueChangeDispatcher::getValue, consumer, coalescing);
+        addValueChangeListener(event -> notifier.run());
+    }
+
+    /**
+     * Runs {@code task} for the last valid value of a burst of changes, on the executor of {@code coalescing}
+     * if there is one, and hands its result to {@code resultConsumer} on the EDT.
+     */
+    public <R> void onChange(Function<LocalDateTime, R> task, Consumer<R> resultConsumer, ChangeCoalescing coalescing) {
+        var notifier = new CoalescingChangeNotifier<>(valueChangeDispatcher::getValue, task, resultConsumer, coalescing);
+        addValueChangeListener(event -> notifier.run());
+    }
+
+    public void addValueChangeListener(ValueChangeListener<LocalDateTime> listener) {
+        valueChangeDispatcher.add(listener);
+    }
+
+    public void removeValueChangeListener(ValueChangeListener<LocalDateTime> listener) {
+        valueChangeDispatcher.remove(listener);
+    }
+
+    public Segment getSelectedSegment() {
+        return segments[selectedSegment];
+    }
+
+    private LocalDateTime getValidLocalDateTime() {
+        return isValidDateTime() ? getLocalDateTime() : null;
+    }
+
+    private int enteredHourOfDay() {
+        int hour = value(Segment.HOUR);
+        if (hour == RangeVerifier.INVALID || !metadata.isTwelveHour()) {
+            return hour;
+        }
+        return hour % 12 + (pm ? 12 : 0);
+    }
+
+    private int value(Segment segment) {
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == segment) {
+                return verifiers[i].parse(texts[i]);
+            }
+        }
+        throw new UnexpectedFieldException(format("%s is not a segment of this field", segment));
+    }
+
+    private boolean isValidSegment(int index) {
+        if (segments[index] == Segment.AMPM) {
+            return true;
+        }
+        if (verifiers[index].parse(texts[index]) == RangeVerifier.INVALID) {
+            return false;
+        }
+        return segments[index] != Segment.DAY || validateDateTime() != DateTimeModel.INVALID_DAY_OF_MONTH;
+    }
+
+    private String getText(int index) {
+        return segments[index] == Segment.AMPM ? ampmTexts[pm ? 1 : 0] : texts[index];
+    }
+
+    private String getText() {
+        var text = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            text.append(getText(i)).append(separators[i]);
+        }
+        return text.toString();
+    }
+
+    private void selectSegment(int index) {
+        if (index < 0 || index >= segments.length) {
+            return;
+        }
+        typing = false;
+        selectedSegment = index;
+        setToolTipText(segments[index] == Segment.AMPM ? null : m(segments[index].name().toLowerCase(Locale.ROOT) + ".tooltip"));
+        repaint();
+    }
+
+    /**
+     * Steps the selected segment with carry into the other segments, as long as the entered value is valid.
+     */
+    private void stepSelectedSegment(int amount) {
+        if (!isValidDateTime()) {
+            return;
+        }
+        var stepped = DateTimeModel.step(getLocalDateTime(), segments[selectedSegment], amount);
+        if (stepped.getYear() >= DateTimeModel.MIN_YEAR && stepped.getYear() <= DateTimeModel.MAX_YEAR) {
+            typing = false;
+            setLocalDateTime(stepped);
+        }
+    }
+
+    private void handleKeyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT, KeyEvent.VK_KP_LEFT -> selectSegment(selectedSegment - 1);
+            case KeyEvent.VK_RIGHT, KeyEvent.VK_KP_RIGHT -> selectSegment(selectedSegment + 1);
+            case KeyEvent.VK_HOME -> selectSegment(0);
+            case KeyEvent.VK_END -> selectSegment(segments.length - 1);
+            case KeyEvent.VK_BACK_SPACE -> {
+                var text = texts[selectedSegment];
+                if (text != null && !text.isEmpty()) {
+                    texts[selectedSegment] = text.substring(0, text.length() - 1);
+                    typing = true;
+                    segmentChanged();
+                }
+            }
+            default -> {
+                return;
+            }
+        }
+        e.consume();
+    }
+
+    private void handleKeyTyped(char c) {
+        var segment = segments[selectedSegment];
+        if (segment == Segment.AMPM) {
+            var lower = Character.toLowerCase(c);
+            if ((lower == 'a' && pm) || (lower == 'p' && !pm)) {
+                pm = !pm;
+                segmentChanged();
+            }
+            return;
+        }
+        if (c < '0' || c > '9') {
+            return;
+        }
+        var verifier = verifiers[selectedSegment];
+        // as many digits as the verifier accepts, like the DigitDocumentFilter of the panels
+        int maxDigits = String.valueOf(verifier.getMax()).length();
+        var text = typing ? texts[selectedSegment] + c : String.valueOf(c);
+        if (text.length() > maxDigits) {
+            text = String.valueOf(c);
+        }
+        texts[selectedSegment] = text;
+        typing = true;
+        if (segment == Segment.YEAR && text.length() > YEAR_COLUMNS) {
+            revalidate();
+        }
+        segmentChanged();
+        if (text.length() >= maxDigits || digitsValue(text) * 10 > verifier.getMax()) {
+            if (selectedSegment < segments.length - 1) {
+                selectSegment(selectedSegment + 1);
+            } else {
+                typing = false;
+            }
+        }
+    }
+
+    private static long digitsValue(String text) {
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private void segmentChanged() {
+        changeDispatcher.run();
+        repaint();
+    }
+
+    private int slotWidth(FontMetrics metrics, int index) {
+        if (segments[index] == Segment.AMPM) {
+            return metrics.stringWidth("MM");
+        }
+        // years beyond four digits widen their slot
+        int digits = segments[index] == Segment.YEAR ? Math.max(YEAR_COLUMNS, texts[index].length()) : 2;
+        return metrics.charWidth('0') * digits;
+    }
+
+    private int segmentAt(int x) {
+        var metrics = getFontMetrics(getFont());
+        int position = getInsets().left;
+        for (int i = 0; i < segments.length; i++) {
+            position += slotWidth(metrics, i);
+            if (x < position + metrics.stringWidth(separators[i]) / 2) {
+                return i;
+            }
+            position += metrics.stringWidth(separators[i]);
+        }
+        return segments.length - 1;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        var metrics = getFontMetrics(getFont());
+        var insets = getInsets();
+        int width = 0;
+        for (int i = 0; i < segments.length; i++) {
+            width += slotWidth(metrics, i) + metrics.stringWidth(separators[i]);
+        }
+        return new Dimension(width + insets.left + insets.right + 2, metrics.getHeight() + insets.top + insets.bottom + 2);
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return isMinimumSizeSet() ? super.getMinimumSize() : getPreferredSize();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        var g2 = (Graphics2D) g.create();
+        try {
+            var hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+            if (hints != null) {
+                g2.addRenderingHints(hints);
+            }
+            if (isOpaque()) {
+                g2.setColor(getBackground());
+                g2.fillRect(0, 0, getWidth(), getHeight());
+            }
+            g2.setFont(getFont());
+            var metrics = g2.getFontMetrics();
+            var insets = getInsets();
+            int x = insets.left + 1;
+            int y = insets.top + 1 + (getHeight() - insets.top - insets.bottom - 2 - metrics.getHeight()) / 2 + metrics.getAscent();
+            for (int i = 0; i < segments.length; i++) {
+                int slotWidth = slotWidth(metrics, i);
+                var text = getText(i);
+                int textX = x + (slotWidth - metrics.stringWidth(text)) / 2;
+                if (i == selectedSegment && isFocusOwner()) {
+                    g2.setColor(UIManager.getColor("TextField.selectionBackground"));
+                    g2.fillRect(x, y - metrics.getAscent(), slotWidth, metrics.getHeight());
+                    g2.setColor(isValidSegment(i) ? UIManager.getColor("TextField.selectionForeground") : Color.RED);
+                } else {
+                    g2.setColor(isValidSegment(i) ? getForeground() : Color.RED);
+                }
+                g2.drawString(text, textX, y);
+                x += slotWidth;
+                g2.setColor(getForeground());
+                g2.drawString(separators[i], x, y);
+                x += metrics.stringWidth(separators[i]);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
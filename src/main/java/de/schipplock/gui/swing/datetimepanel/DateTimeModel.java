@@ -0,0 +1,517 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeListener;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import static java.lang.String.format;
+
+/**
+ * Headless, thread-safe holder of the values the panels render.
+ * <p>
+ * The state is an immutable {@link Snapshot} of primitive segment values, {@link #INVALID} marking a
+ * segment without a valid value. Reads are lock-free, writes are compare-and-set. Listeners are notified
+ * on the writing thread after each effective change; panels hand the update over to the EDT themselves.
+ * The validation rules are the same as in the panels and can be used without any Swing component.
+ */
+public final class DateTimeModel {
+
+    public static final int INVALID = -1;
+
+    /**
+     * The year of {@link #DEFAULT_MIN}, the earliest year of models without explicit bounds.
+     */
+    public static final int MIN_YEAR = 2000;
+
+    public static final int MAX_YEAR = Year.MAX_VALUE;
+
+    /**
+     * The earliest year that can be entered at all, years are entered as digits only.
+     */
+    static final int FIRST_YEAR = 0;
+
+    public static final LocalDateTime DEFAULT_MIN = LocalDateTime.of(MIN_YEAR, 1, 1, 0, 0);
+
+    public static final LocalDateTime DEFAULT_MAX = LocalDateTime.MAX;
+
+    static final ValidationResult INVALID_DAY = new ValidationResult.Invalid("day is not within 1..31", Segment.DAY);
+
+    static final ValidationResult INVALID_MONTH = new ValidationResult.Invalid("month is not within 1..12", Segment.MONTH);
+
+    static final ValidationResult INVALID_YEAR = new ValidationResult.Invalid("year is out of range", Segment.YEAR);
+
+    static final ValidationResult INVALID_DAY_OF_MONTH = new ValidationResult.Invalid("day does not exist in month", Segment.DAY);
+
+    static final ValidationResult INVALID_HOUR = new ValidationResult.Invalid("hour is out of range", Segment.HOUR);
+
+    static final ValidationResult INVALID_MINUTE = new ValidationResult.Invalid("minute is not within 0..59", Segment.MINUTE);
+
+    static final ValidationResult INVALID_SECOND = new ValidationResult.Invalid("second is not within 0..59", Segment.SECOND);
+
+    static final ValidationResult INVALID_NANO = new ValidationResult.Invalid("nano of second is out of range", Segment.MILLISECOND);
+
+    static final ValidationResult INVALID_BEFORE_MIN = new ValidationResult.Invalid("value is before the minimum", null);
+
+    static final ValidationResult INVALID_AFTER_MAX = new ValidationResult.Invalid("value is after the maximum", null);
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    private final LocalDateTime min;
+
+    private final LocalDateTime max;
+
+    private final Snapshot minSnapshot;
+
+    private final Snapshot maxSnapshot;
+
+    private volatile ValueChangeListener<Snapshot>[] listeners = newListenerArray(0);
+
+    /**
+     * Creates a model that only accepts values within {@code min..max}, both inclusive. The years of the
+     * bounds also limit what can be entered into the year field.
+     */
+    public DateTimeModel(LocalDateTime localDateTime, LocalDateTime min, LocalDateTime max) {
+        this(Snapshot.of(localDateTime), min, max);
+    }
+
+    public DateTimeModel(ZonedDateTime zonedDateTime, LocalDateTime min, LocalDateTime max) {
+        this(Snapshot.of(zonedDateTime), min, max);
+    }
+
+    public DateTimeModel(LocalDateTime localDateTime) {
+        this(localDateTime, DEFAULT_MIN, DEFAULT_MAX);
+    }
+
+    public DateTimeModel(ZonedDateTime zonedDateTime) {
+        this(zonedDateTime, DEFAULT_MIN, DEFAULT_MAX);
+    }
+
+    private DateTimeModel(Snapshot snapshot, LocalDateTime min, LocalDateTime max) {
+        if (min.getYear() < FIRST_YEAR || min.isAfter(max)) {
+            throw new IllegalArgumentException(format("invalid bounds %s..%s, the minimum year is %d", min, max, FIRST_YEAR));
+        }
+        this.snapshot = new AtomicReference<>(snapshot);
+        this.min = min;
+        this.max = max;
+        this.minSnapshot = Snapshot.of(min);
+        this.maxSnapshot = Snapshot.of(max);
+    }
+
+    public DateTimeModel() {
+        this(LocalDateTime.now());
+    }
+
+    /**
+     * Immutable state of a model. Hours are stored as hour of day (0..23), the zone is never {@code null}.
+     */
+    public record Snapshot(int year, int month, int day, int hour, int minute, int second, int nano, ZoneId zone) {
+
+        public Snapshot {
+            Objects.requireNonNull(zone, "zone");
+        }
+
+        public static Snapshot of(LocalDateTime localDateTime) {
+            return new Snapshot(localDateTime.getYear(), localDateTime.getMonthValue(), localDateTime.getDayOfMonth(),
+                    localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond(), localDateTime.getNano(),
+                    ZoneId.systemDefault());
+        }
+
+        public static Snapshot of(ZonedDateTime zonedDateTime) {
+            return new Snapshot(zonedDateTime.getYear(), zonedDateTime.getMonthValue(), zonedDateTime.getDayOfMonth(),
+                    zonedDateTime.getHour(), zonedDateTime.getMinute(), zonedDateTime.getSecond(), zonedDateTime.getNano(),
+                    zonedDateTime.getZone());
+        }
+
+        public Snapshot withDate(int year, int month, int day) {
+            return new Snapshot(year, month, day, hour, minute, second, nano, zone);
+        }
+
+        public Snapshot withTime(int hour, int minute) {
+            return new Snapshot(year, month, day, hour, minute, second, nano, zone);
+        }
+
+        public Snapshot withTime(int hour, int minute, int second, int nano) {
+            return new Snapshot(year, month, day, hour, minute, second, nano, zone);
+        }
+
+        public Snapshot withLocalDateTime(LocalDateTime localDateTime) {
+            return new Snapshot(localDateTime.getYear(), localDateTime.getMonthValue(), localDateTime.getDayOfMonth(),
+                    localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond(), localDateTime.getNano(), zone);
+        }
+
+        public Snapshot withZone(ZoneId zone) {
+            return new Snapshot(year, month, day, hour, minute, second, nano, zone);
+        }
+
+        /**
+         * Steps {@code segment} by {@code amount} with carry into the other segments. If the snapshot is
+         * invalid, only the segment itself is stepped, wrapping around within its range.
+         *
+         * @return the stepped snapshot, or this snapshot if the result would be out of range
+         */
+        public Snapshot step(Segment segment, int amount) {
+            var localDateTime = toLocalDateTime();
+            if (localDateTime != null) {
+                var stepped = DateTimeModel.step(localDateTime, segment, amount);
+                return stepped.getYear() < FIRST_YEAR || stepped.getYear() > MAX_YEAR ? this : withLocalDateTime(stepped);
+            }
+            return switch (segment) {
+                case YEAR -> year < FIRST_YEAR || year > MAX_YEAR
+                        ? withDate(Year.now().getValue(), month, day)
+                        : withDate(Math.clamp((long) year + amount, FIRST_YEAR, MAX_YEAR), month, day);
+                case MONTH -> withDate(year, wrap(month, 1, 12, amount), day);
+                case DAY -> withDate(year, month, wrap(day, 1, month < 1 || month > 12 ? 31 : Month.of(month).length(Year.isLeap(year)), amount));
+                case HOUR -> withTime(wrap(hour, 0, 23, amount), minute, second, nano);
+                case MINUTE -> withTime(hour, wrap(minute, 0, 59, amount), second, nano);
+                case SECOND -> withTime(hour, minute, wrap(second, 0, 59, amount), nano);
+                case MILLISECOND -> withTime(hour, minute, second,
+                        wrap(nano < 0 ? INVALID : nano / 1_000_000, 0, 999, amount) * 1_000_000 + (nano < 0 ? 0 : nano % 1_000_000));
+                case AMPM -> hour < 0 || hour > 23 || amount % 2 == 0 ? this : withTime((hour + 12) % 24, minute, second, nano);
+                case ZONE -> this;
+            };
+        }
+
+        private static int wrap(int value, int min, int max, int amount) {
+            if (value < min || value > max) {
+                return amount > 0 ? min : max;
+            }
+            return Math.floorMod(value - min + amount, max - min + 1) + min;
+        }
+
+        public ValidationResult validateDate() {
+            return DateTimeModel.validateDate(year, month, day);
+        }
+
+        public ValidationResult validateTime() {
+            return DateTimeModel.validateTime(hour, minute, second, nano);
+        }
+
+        public ValidationResult validate() {
+            var result = validateDate();
+            return result.isValid() ? validateTime() : result;
+        }
+
+        /**
+         * @return the date or {@code null} if it is invalid
+         */
+        public LocalDate toLocalDate() {
+            return validateDate().isValid() ? LocalDate.of(year, month, day) : null;
+        }
+
+        /**
+         * @return the time or {@code null} if it is invalid
+         */
+        public LocalTime toLocalTime() {
+            return validateTime().isValid() ? LocalTime.of(hour, minute, second, nano) : null;
+        }
+
+        /**
+         * @return the date and time or {@code null} if either is invalid
+         */
+        public LocalDateTime toLocalDateTime() {
+            return validate().isValid() ? LocalDateTime.of(year, month, day, hour, minute, second, nano) : null;
+        }
+
+        /**
+         * @return the date and time in the zone of this snapshot or {@code null} if either is invalid
+         */
+        public ZonedDateTime toZonedDateTime() {
+            var localDateTime = toLocalDateTime();
+            return localDateTime == null ? null : localDateTime.atZone(zone);
+        }
+
+        public OffsetDateTime toOffsetDateTime() {
+            var zonedDateTime = toZonedDateTime();
+            return zonedDateTime == null ? null : zonedDateTime.toOffsetDateTime();
+        }
+
+        public Instant toInstant() {
+            var zonedDateTime = toZonedDateTime();
+            return zonedDateTime == null ? null : zonedDateTime.toInstant();
+        }
+    }
+
+    /**
+     * Adds {@code amount} units of {@code segment} to {@code localDateTime}, carrying into the larger
+     * segments the way {@link LocalDateTime} does, e.g. past the end of the month or a leap day.
+     * {@link Segment#AMPM} toggles within the same day. A step beyond the range of {@link LocalDateTime}
+     * returns {@code localDateTime} unchanged.
+     */
+    public static LocalDateTime step(LocalDateTime localDateTime, Segment segment, int amount) {
+        try {
+            return switch (segment) {
+                case YEAR -> localDateTime.plusYears(amount);
+                case MONTH -> localDateTime.plusMonths(amount);
+                case DAY -> localDateTime.plusDays(amount);
+                case HOUR -> localDateTime.plusHours(amount);
+                case MINUTE -> localDateTime.plusMinutes(amount);
+                case SECOND -> localDateTime.plusSeconds(amount);
+                case MILLISECOND -> localDateTime.plus(amount, ChronoUnit.MILLIS);
+                case AMPM -> amount % 2 == 0 ? localDateTime : localDateTime.withHour((localDateTime.getHour() + 12) % 24);
+                case ZONE -> localDateTime;
+            };
+        } catch (DateTimeException ex) {
+            return localDateTime;
+        }
+    }
+
+    public static ValidationResult validateDate(int year, int month, int day) {
+        if (day < 1 || day > 31) {
+            return INVALID_DAY;
+        }
+        if (month < 1 || month > 12) {
+            return INVALID_MONTH;
+        }
+        if (year < FIRST_YEAR || year > MAX_YEAR) {
+            return INVALID_YEAR;
+        }
+        if (day > Month.of(month).length(Year.isLeap(year))) {
+            return INVALID_DAY_OF_MONTH;
+        }
+        return ValidationResult.VALID;
+    }
+
+    public static ValidationResult validateTime(int hour, int minute) {
+        return validateTime(hour, minute, 0, 0);
+    }
+
+    public static ValidationResult validateTime(int hour, int minute, int second, int nano) {
+        if (hour < 0 || hour > 23) {
+            return INVALID_HOUR;
+        }
+        if (minute < 0 || minute > 59) {
+            return INVALID_MINUTE;
+        }
+        if (second < 0 || second > 59) {
+            return INVALID_SECOND;
+        }
+        if (nano < 0 || nano > 999_999_999) {
+            return INVALID_NANO;
+        }
+        return ValidationResult.VALID;
+    }
+
+    public static ValidationResult validate(int year, int month, int day, int hour, int minute) {
+        return validate(year, month, day, hour, minute, 0, 0);
+    }
+
+    public static ValidationResult validate(int year, int month, int day, int hour, int minute, int second, int nano) {
+        var result = validateDate(year, month, day);
+        return result.isValid() ? validateTime(hour, minute, second, nano) : result;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public LocalDateTime getMin() {
+        return min;
+    }
+
+    public LocalDateTime getMax() {
+        return max;
+    }
+
+    /**
+     * Validates the date part of {@code snapshot} including the bounds of this model.
+     */
+    public ValidationResult validateDate(Snapshot snapshot) {
+        var result = snapshot.validateDate();
+        if (!result.isValid()) {
+            return result;
+        }
+        if (compareDate(snapshot, minSnapshot) < 0) {
+            return INVALID_BEFORE_MIN;
+        }
+        return compareDate(snapshot, maxSnapshot) > 0 ? INVALID_AFTER_MAX : ValidationResult.VALID;
+    }
+
+    /**
+     * Validates {@code snapshot} including the bounds of this model, comparing primitives only.
+     */
+    public ValidationResult validate(Snapshot snapshot) {
+        var result = snapshot.validate();
+        if (!result.isValid()) {
+            return result;
+        }
+        if (compare(snapshot, minSnapshot) < 0) {
+            return INVALID_BEFORE_MIN;
+        }
+        return compare(snapshot, maxSnapshot) > 0 ? INVALID_AFTER_MAX : ValidationResult.VALID;
+    }
+
+    public ValidationResult validate() {
+        return validate(getSnapshot());
+    }
+
+    /**
+     * Compares the local date and time of two snapshots segment by segment; zones are ignored.
+     */
+    public static int compare(Snapshot a, Snapshot b) {
+        int result = compareDate(a, b);
+        if (result == 0) {
+            result = Integer.compare(a.hour(), b.hour());
+        }
+        if (result == 0) {
+            result = Integer.compare(a.minute(), b.minute());
+        }
+        if (result == 0) {
+            result = Integer.compare(a.second(), b.second());
+        }
+        return result != 0 ? result : Integer.compare(a.nano(), b.nano());
+    }
+
+    private static int compareDate(Snapshot a, Snapshot b) {
+        int result = Integer.compare(a.year(), b.year());
+        if (result == 0) {
+            result = Integer.compare(a.month(), b.month());
+        }
+        return result != 0 ? result : Integer.compare(a.day(), b.day());
+    }
+
+    /**
+     * Sets date and time, keeping the zone.
+     */
+    public void setLocalDateTime(LocalDateTime localDateTime) {
+        update(current -> current.withLocalDateTime(localDateTime));
+    }
+
+    public void setZonedDateTime(ZonedDateTime zonedDateTime) {
+        update(current -> Snapshot.of(zonedDateTime));
+    }
+
+    public void setLocalDate(LocalDate localDate) {
+        setDate(localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth());
+    }
+
+    public void setLocalTime(LocalTime localTime) {
+        setTime(localTime.getHour(), localTime.getMinute(), localTime.getSecond(), localTime.getNano());
+    }
+
+    public void setDate(int year, int month, int day) {
+        update(current -> current.withDate(year, month, day));
+    }
+
+    /**
+     * Sets hour and minute, keeping second and nano of second.
+     */
+    public void setTime(int hour, int minute) {
+        update(current -> current.withTime(hour, minute));
+    }
+
+    public void setTime(int hour, int minute, int second, int nano) {
+        update(current -> current.withTime(hour, minute, second, nano));
+    }
+
+    /**
+     * Steps {@code segment}, see {@link Snapshot#step(Segment, int)}. Steps that would leave the bounds of
+     * this model are ignored.
+     */
+    public void step(Segment segment, int amount) {
+        update(current -> {
+            var stepped = current.step(segment, amount);
+            var result = validate(stepped);
+            return result == INVALID_BEFORE_MIN || result == INVALID_AFTER_MAX ? current : stepped;
+        });
+    }
+
+    /**
+     * Replaces the given parts in a single change, {@code null} parts are kept.
+     */
+    void restore(LocalDate date, LocalTime time, ZoneId zone) {
+        update(current -> {
+            var restored = current;
+            if (date != null) {
+                restored = restored.withDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+            }
+            if (time != null) {
+                restored = restored.withTime(time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+            }
+            return zone == null ? restored : restored.withZone(zone);
+        });
+    }
+
+    public void setZone(ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        update(current -> current.withZone(zone));
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = snapshot.get();
+            updated = change.apply(current);
+            if (current.equals(updated)) {
+                return;
+            }
+        } while (!snapshot.compareAndSet(current, updated));
+        fire(current, updated);
+    }
+
+    public synchronized void addListener(ValueChangeListener<Snapshot> listener) {
+        var current = listeners;
+        var updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void removeListener(ValueChangeListener<Snapshot> listener) {
+        var current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                ValueChangeListener<Snapshot>[] updated = newListenerArray(current.length - 1);
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    private void fire(Snapshot oldSnapshot, Snapshot newSnapshot) {
+        var current = listeners;
+        if (current.length == 0) {
+            return;
+        }
+        var event = new ValueChangeEvent<>(this, oldSnapshot, newSnapshot, newSnapshot.validate().isValid());
+        for (var listener : current) {
+            listener.valueChanged(event);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueChangeListener<Snapshot>[] newListenerArray(int length) {
+        return (ValueChangeListener<Snapshot>[]) new ValueChangeListener[length];
+    }
+}
@@ -15,11 +15,28 @@
  */
 package de.schipplock.gui.swing.datetimepanel;
 
+import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelConstructionEvent;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelLayoutEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import de.schipplock.gui.swing.datetimepanel.listener.ChangeCoalescing;
+import de.schipplock.gui.swing.datetimepanel.listener.CoalescingChangeNotifier;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeListener;
+import de.schipplock.gui.swing.datetimepanel.verifier.AsyncVerifier;
+import net.miginfocom.layout.LC;
 import net.miginfocom.swing.MigLayout;
 
 import javax.swing.*;
 import java.io.Serial;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.lang.String.format;
 
@@ -28,43 +45,181 @@ public class DateTimePanel extends JPanel implements Panel {
     @Serial
     private static final long serialVersionUID = -2253245667639591999L;
 
+    private final DateTimeModel model;
+
     private final DatePanel datePanel;
 
     private final TimePanel timePanel;
 
-    public DateTimePanel(LocalDateTime localDateTime) {
+    private final ValueChangeDispatcher<LocalDateTime> valueChangeDispatcher = new ValueChangeDispatcher<>(this, this::getValidLocalDateTime);
+
+    static final ValidationResult INVALID_REJECTED = new ValidationResult.Invalid("value was rejected by the verifier", null);
+
+    private boolean rangeConflict;
+
+    private AsyncVerification<LocalDateTime> asyncVerification;
+
+    /**
+     * Creates a panel that shows and edits {@code model}. Changes of the model made on other threads are
+     * shown on the EDT. Values out of the bounds of the model are shown red.
+     *
+     * @param timeSegments optional time segments, see {@link TimePanel#TimePanel(DateTimeModel, Set)}
+     * @param lazy         whether the date and time panels are realized only once shown or measured, see
+     *                     {@link Panel#lazyRealization}
+     */
+    public DateTimePanel(DateTimeModel model, Set<Segment> timeSegments, boolean lazy) {
         super(new MigLayout(getLayoutConstraints()), true);
 
-        var datePanelConstraints = m("panel.date.constraints");
-        var timePanelConstraints = m("panel.time.constraints");
+        var event = new PanelConstructionEvent();
+        event.begin();
 
-        datePanel = new DatePanel(localDateTime.toLocalDate());
-        timePanel = new TimePanel(localDateTime.toLocalTime());
+        this.model = model;
+
+        var datePanelConstraints = LayoutConstraints.component(m("panel.date.constraints"));
+        var timePanelConstraints = LayoutConstraints.component(m("panel.time.constraints"));
+
+        datePanel = new DatePanel(model, lazy);
+        timePanel = new TimePanel(model, timeSegments, lazy);
+
+        datePanel.addChangeNotifier(this::updateRangeMarks);
+        timePanel.addChangeNotifier(this::updateRangeMarks);
+        datePanel.addChangeNotifier(valueChangeDispatcher);
+        timePanel.addChangeNotifier(valueChangeDispatcher);
+        datePanel.addChangeNotifier(this::requestAsyncVerification);
+        timePanel.addChangeNotifier(this::requestAsyncVerification);
+        updateRangeMarks();
 
         add(datePanel, datePanelConstraints);
         add(new JLabel(" "));
         add(timePanel, timePanelConstraints);
+
+        event.commit(this);
     }
 
-    private static String getLayoutConstraints() {
-        var constraints = System.getenv("MIGLAYOUT_CONSTRAINTS");
-        var layoutDefaults = "gap 0 0, ins 0";
+    public DateTimePanel(DateTimeModel model, Set<Segment> timeSegments) {
+        this(model, timeSegments, lazyRealization);
+    }
 
-        if (constraints == null) {
-            constraints = layoutDefaults;
-        } else {
-            constraints = format("%s, %s", layoutDefaults, constraints);
-        }
+    public DateTimePanel(DateTimeModel model) {
+        this(model, Set.of());
+    }
+
+    public DateTimePanel(LocalDateTime localDateTime) {
+        this(new DateTimeModel(localDateTime.truncatedTo(ChronoUnit.MINUTES)));
+    }
+
+    private static LC getLayoutConstraints() {
+        return LayoutConstraints.layout("gap 0 0, ins 0");
+    }
 
-        return constraints;
+    @Override
+    public void doLayout() {
+        var event = new PanelLayoutEvent();
+        event.begin();
+        super.doLayout();
+        event.commit(this);
     }
 
     public DateTimePanel() {
         this(LocalDateTime.now());
     }
 
+    /**
+     * Shows a button next to the date fields that opens a month calendar to pick the date from.
+     */
+    public void setCalendarPopupEnabled(boolean enabled) {
+        datePanel.setCalendarPopupEnabled(enabled);
+    }
+
+    public boolean isCalendarPopupEnabled() {
+        return datePanel.isCalendarPopupEnabled();
+    }
+
+    /**
+     * Shows the given value. Listeners are notified once, or not at all within {@link BatchUpdate#run(Runnable)}.
+     * Off the EDT the value is a plain model update and shown on the EDT.
+     */
+    public void setLocalDateTime(LocalDateTime localDateTime) {
+        BatchUpdate.coalesce(() -> {
+            bind(localDateTime);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    /**
+     * Shows the given value including its zone. Listeners are notified once, or not at all within
+     * {@link BatchUpdate#run(Runnable)}. Off the EDT the value is a plain model update and shown on the EDT.
+     */
+    public void setZonedDateTime(ZonedDateTime zonedDateTime) {
+        BatchUpdate.coalesce(() -> {
+            model.setZonedDateTime(zonedDateTime.truncatedTo(timePanel.precision()));
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void bind(LocalDateTime localDateTime) {
+        model.setLocalDateTime(localDateTime.truncatedTo(timePanel.precision()));
+    }
+
+    /**
+     * Empties the fields, e.g. for a {@code null} table cell.
+     */
+    void clear() {
+        datePanel.clear();
+        timePanel.clear();
+    }
+
+    /**
+     * @return the value, the texts and the invalid fields of this panel, see {@link PanelState}
+     */
+    public PanelState saveState() {
+        var snapshot = model.getSnapshot();
+        var texts = PanelState.newTexts();
+        datePanel.saveTexts(texts);
+        timePanel.saveTexts(texts);
+        var date = model.validateDate(snapshot).isValid() ? snapshot.toLocalDate() : null;
+        return new PanelState(date, snapshot.toLocalTime(), snapshot.zone(), texts, datePanel.getInvalidFields() | timePanel.getInvalidFields());
+    }
+
+    /**
+     * Restores a state saved by this or another panel. Listeners are notified once, or not at all within
+     * {@link BatchUpdate#run(Runnable)}. Must be called on the EDT.
+     */
+    public void restoreState(PanelState state) {
+        BatchUpdate.coalesce(() -> {
+            model.restore(state.getLocalDate(), state.getLocalTime(), state.getZone());
+            datePanel.restoreTexts(state);
+            timePanel.restoreTexts(state);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    public DateTimeModel getModel() {
+        return model;
+    }
+
     public LocalDateTime getLocalDateTime() {
-        return LocalDateTime.of(datePanel.getLocalDate(), timePanel.getLocalTime());
+        var localDateTime = LocalDateTime.of(datePanel.getLocalDate(), timePanel.getLocalTime());
+        if (model.validate() instanceof ValidationResult.Invalid invalid) {
+            throw new InvalidDateValuesException(format("%s is out of bounds %s..%s (%s)", localDateTime, model.getMin(), model.getMax(), invalid.reason()));
+        }
+        return localDateTime;
+    }
+
+    /**
+     * @return the entered date and time in the zone of the model, which is the system default unless a zone
+     * was set or is shown
+     */
+    public ZonedDateTime getZonedDateTime() {
+        return getLocalDateTime().atZone(model.getSnapshot().zone());
+    }
+
+    public OffsetDateTime getOffsetDateTime() {
+        return getZonedDateTime().toOffsetDateTime();
+    }
+
+    public Instant getInstant() {
+        return getZonedDateTime().toInstant();
     }
 
     public void onChange(Runnable changeNotifier) {
@@ -72,12 +227,128 @@ public class DateTimePanel extends JPanel implements Panel {
         timePanel.onChange(changeNotifier);
     }
 
-    public boolean isValidDateTime() {
-        try {
-            getLocalDateTime();
-            return true;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Registers a consumer that receives the last valid value of a burst of changes.
+     */
+    public void onChange(Consumer<LocalDateTime> consumer, ChangeCoalescing coalescing) {
+        var notifier = CoalescingChangeNotifier.of(valueChangeDispatcher::getValue, consumer, coalescing);
+        addValueChangeListener(event -> notifier.run());
+    }
+
+    /**
+     * Runs {@code task} for the last valid value of a burst of changes, on the executor of {@code coalescing}
+     * if there is one, and hands its result to {@code resultConsumer} on the EDT.
+     */
+    public <R> void onChange(Function<LocalDateTime, R> task, Consumer<R> resultConsumer, ChangeCoalescing coalescing) {
+        var notifier = new CoalescingChangeNotifier<>(valueChangeDispatcher::getValue, task, resultConsumer, coalescing);
+        addValueChangeListener(event -> notifier.run());
+    }
+
+    /**
+     * Registers a listener that is notified once per actual change of the combined value. The value is
+     * computed once and shared by all listeners.
+     */
+    public void addValueChangeListener(ValueChangeListener<LocalDateTime> listener) {
+        valueChangeDispatcher.add(listener);
+    }
+
+    public void removeValueChangeListener(ValueChangeListener<LocalDateTime> listener) {
+        valueChangeDispatcher.remove(listener);
+    }
+
+    private LocalDateTime getValidLocalDateTime() {
+        var snapshot = model.getSnapshot();
+        return model.validate(snapshot).isValid() ? snapshot.toLocalDateTime() : null;
+    }
+
+    /**
+     * Validates the entered date and time including the bounds of the model, without throwing.
+     */
+    public ValidationResult validateDateTime() {
+        var snapshot = model.getSnapshot();
+        var result = model.validate(snapshot);
+        if (result.isValid() && asyncVerification != null
+                && Boolean.FALSE.equals(asyncVerification.getCached(snapshot.toLocalDateTime()))) {
+            return INVALID_REJECTED;
+        }
+        return result;
+    }
+
+    /**
+     * Verifies every valid value with {@code verifier} as well, without blocking the EDT. Rejected values
+     * are shown red and reported by {@link #validateDateTime()}; outcomes of the last
+     * {@value AsyncVerification#DEFAULT_CACHE_SIZE} values are cached.
+     *
+     * @param verifier the verifier, {@code null} to remove it
+     */
+    public void setAsyncVerifier(AsyncVerifier<LocalDateTime> verifier) {
+        setAsyncVerifier(verifier, AsyncVerification.DEFAULT_CACHE_SIZE);
+    }
+
+    public void setAsyncVerifier(AsyncVerifier<LocalDateTime> verifier, int cacheSize) {
+        if (asyncVerification != null) {
+            asyncVerification.cancel();
+        }
+        asyncVerification = verifier == null ? null : new AsyncVerification<>(verifier, cacheSize, this::setAccepted);
+        if (asyncVerification == null) {
+            setAccepted(true);
+        } else {
+            verifyAsync();
         }
     }
+
+    /**
+     * @return whether an asynchronous verification of the current value is still running
+     */
+    public boolean isVerificationPending() {
+        return asyncVerification != null && asyncVerification.isPending();
+    }
+
+    /**
+     * Verifies the value after each change, once at the end of a batch, whether it is silent or not.
+     */
+    private void requestAsyncVerification() {
+        if (asyncVerification == null) {
+            return;
+        }
+        if (BatchUpdate.isActive()) {
+            BatchUpdate.defer(asyncVerification, this::verifyAsync);
+        } else {
+            verifyAsync();
+        }
+    }
+
+    private void verifyAsync() {
+        if (asyncVerification != null) {
+            asyncVerification.verify(getValidLocalDateTime());
+        }
+    }
+
+    private void setAccepted(boolean accepted) {
+        datePanel.markRejected(!accepted);
+        timePanel.markRejected(!accepted);
+        updateRangeMarks();
+    }
+
+    /**
+     * Marks the fields red although the value itself is valid, used for a start after the end of a range.
+     */
+    void setRangeConflict(boolean rangeConflict) {
+        if (this.rangeConflict != rangeConflict) {
+            this.rangeConflict = rangeConflict;
+            updateRangeMarks();
+        }
+    }
+
+    private void updateRangeMarks() {
+        var result = validateDateTime();
+        boolean marked = result.isValid() ? rangeConflict
+                : result == DateTimeModel.INVALID_BEFORE_MIN || result == DateTimeModel.INVALID_AFTER_MAX;
+        datePanel.markOutOfRange(marked);
+        timePanel.markOutOfRange(marked);
+    }
+
+    public boolean isValidDateTime() {
+        return validateDateTime().isValid();
+    }
 }
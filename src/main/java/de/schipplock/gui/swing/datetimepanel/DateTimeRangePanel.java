@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelConstructionEvent;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelLayoutEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.io.Serial;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Two {@link DateTimePanel}s for the start and the end of a range, both limited to the same bounds.
+ * <p>
+ * The validity of either side and the order of both are kept up to date from the model events, re-checking
+ * only the side that changed, so {@link #isRangeValid()} is a field read. A start after the end marks the
+ * side that was changed last.
+ */
+public class DateTimeRangePanel extends JPanel implements Panel {
+
+    @Serial
+    private static final long serialVersionUID = 4518835912604467322L;
+
+    static final ValidationResult INVALID_RANGE = new ValidationResult.Invalid("start is after end", null);
+
+    private final DateTimeModel startModel;
+
+    private final DateTimeModel endModel;
+
+    private final DateTimePanel startPanel;
+
+    private final DateTimePanel endPanel;
+
+    private DateTimeModel.Snapshot start;
+
+    private DateTimeModel.Snapshot end;
+
+    private ValidationResult startResult = ValidationResult.VALID;
+
+    private ValidationResult endResult = ValidationResult.VALID;
+
+    private volatile boolean rangeValid;
+
+    private volatile boolean conflict;
+
+    private volatile boolean startChangedLast;
+
+    /**
+     * @param min          the earliest value of either side, inclusive
+     * @param max          the latest value of either side, inclusive
+     * @param timeSegments optional time segments, see {@link TimePanel#TimePanel(DateTimeModel, Set)}
+     */
+    public DateTimeRangePanel(LocalDateTime start, LocalDateTime end, LocalDateTime min, LocalDateTime max, Set<Segment> timeSegments) {
+        super(new MigLayout(LayoutConstraints.layout("gap 0 0, ins 0")), true);
+
+        var event = new PanelConstructionEvent();
+        event.begin();
+
+        startModel = new DateTimeModel(start, min, max);
+        endModel = new DateTimeModel(end, min, max);
+        startPanel = new DateTimePanel(startModel, timeSegments);
+        endPanel = new DateTimePanel(endModel, timeSegments);
+
+        this.start = startModel.getSnapshot();
+        this.end = endModel.getSnapshot();
+        update(true);
+        update(false);
+        startModel.addListener(e -> update(true));
+        endModel.addListener(e -> update(false));
+
+        add(startPanel);
+        add(createSeparator("range.ui.separator"));
+        add(endPanel);
+
+        event.commit(this);
+    }
+
+    public DateTimeRangePanel(LocalDateTime start, LocalDateTime end) {
+        this(start.truncatedTo(ChronoUnit.MINUTES), end.truncatedTo(ChronoUnit.MINUTES), DateTimeModel.DEFAULT_MIN, DateTimeModel.DEFAULT_MAX, Set.of());
+    }
+
+    public DateTimeRangePanel() {
+        this(LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Override
+    public void doLayout() {
+        var event = new PanelLayoutEvent();
+        event.begin();
+        super.doLayout();
+        event.commit(this);
+    }
+
+    /**
+     * Re-validates the side that changed and the order of both sides. Called on the thread that changed the
+     * model, the marks are updated on the EDT.
+     */
+    private void update(boolean startChanged) {
+        synchronized (this) {
+            if (startChanged) {
+                start = startModel.getSnapshot();
+                startResult = startModel.validate(start);
+            } else {
+                end = endModel.getSnapshot();
+                endResult = endModel.validate(end);
+            }
+            boolean bothValid = startResult.isValid() && endResult.isValid();
+            conflict = bothValid && compare(start, end) > 0;
+            rangeValid = bothValid && !conflict;
+            startChangedLast = startChanged;
+        }
+        if (BatchUpdate.isActive()) {
+            BatchUpdate.defer(this, this::updateConflictMarks);
+        } else if (SwingUtilities.isEventDispatchThread()) {
+            updateConflictMarks();
+        } else {
+            SwingUtilities.invokeLater(this::updateConflictMarks);
+        }
+    }
+
+    private void updateConflictMarks() {
+        boolean conflict = this.conflict;
+        boolean startChangedLast = this.startChangedLast;
+        startPanel.setRangeConflict(conflict && startChangedLast);
+        endPanel.setRangeConflict(conflict && !startChangedLast);
+    }
+
+    /**
+     * Compares both sides by their local values, or by their instants if they are in different zones.
+     */
+    private static int compare(DateTimeModel.Snapshot start, DateTimeModel.Snapshot end) {
+        if (start.zone().equals(end.zone())) {
+            return DateTimeModel.compare(start, end);
+        }
+        return start.toInstant().compareTo(end.toInstant());
+    }
+
+    /**
+     * @return whether both sides are valid, within bounds and the start is not after the end
+     */
+    public boolean isRangeValid() {
+        return rangeValid;
+    }
+
+    /**
+     * Validates both sides and their order without throwing, the start is checked first.
+     */
+    public synchronized ValidationResult validateRange() {
+        if (!startResult.isValid()) {
+            return startResult;
+        }
+        if (!endResult.isValid()) {
+            return endResult;
+        }
+        return conflict ? INVALID_RANGE : ValidationResult.VALID;
+    }
+
+    public LocalDateTime getStart() {
+        return startPanel.getLocalDateTime();
+    }
+
+    public LocalDateTime getEnd() {
+        return endPanel.getLocalDateTime();
+    }
+
+    /**
+     * Shows the given range in one {@link BatchUpdate#coalesce(Runnable)}: listeners registered with
+     * {@link #onChange(Runnable)} are notified once, value change listeners of either side once with its final
+     * value, and no intermediate order conflict is marked. Off the EDT both sides are plain model updates.
+     */
+    public void setRange(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            throw new InvalidDateValuesException(format("start %s is after end %s", start, end));
+        }
+        BatchUpdate.coalesce(() -> {
+            startPanel.setLocalDateTime(start);
+            endPanel.setLocalDateTime(end);
+        });
+    }
+
+    public DateTimePanel getStartPanel() {
+        return startPanel;
+    }
+
+    public DateTimePanel getEndPanel() {
+        return endPanel;
+    }
+
+    public void onChange(Runnable changeNotifier) {
+        startPanel.onChange(changeNotifier);
+        endPanel.onChange(changeNotifier);
+    }
+}
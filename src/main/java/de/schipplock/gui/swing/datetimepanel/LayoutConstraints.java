@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import net.miginfocom.layout.CC;
+import net.miginfocom.layout.ConstraintParser;
+import net.miginfocom.layout.LC;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Registry of parsed MigLayout constraints shared by all panel instances.
+ * <p>
+ * {@code MIGLAYOUT_CONSTRAINTS} is read once; layout and component constraints are parsed once per
+ * distinct string. The returned objects are shared and must not be modified.
+ */
+final class LayoutConstraints {
+
+    private static final String environmentConstraints = System.getenv("MIGLAYOUT_CONSTRAINTS");
+
+    private static final Map<String, LC> layoutConstraints = new ConcurrentHashMap<>();
+
+    private static final Map<String, Map<String, CC>> componentConstraints = new ConcurrentHashMap<>();
+
+    private LayoutConstraints() {
+    }
+
+    static LC layout(String layoutDefaults) {
+        return layoutConstraints.computeIfAbsent(layoutDefaults, defaults -> {
+            var constraints = environmentConstraints == null ? defaults : format("%s, %s", defaults, environmentConstraints);
+            return ConstraintParser.parseLayoutConstraint(constraints);
+        });
+    }
+
+    static CC component(String constraints) {
+        return component(constraints, "");
+    }
+
+    static CC component(String constraints, String additionalConstraints) {
+        return componentConstraints.computeIfAbsent(constraints, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(additionalConstraints, additional -> additional.isEmpty()
+                        ? ConstraintParser.parseComponentConstraint(constraints)
+                        : ConstraintParser.parseComponentConstraint(format("%s, %s", constraints, additional)));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.exceptions.UnexpectedFieldException;
+import net.miginfocom.layout.CC;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable, compiled arrangement of segment fields with a caption row above a row of fields and separators.
+ * <p>
+ * The date plan is compiled once per locale from {@code date.ui.fields}: a sequence of {@code d}, {@code m}
+ * and {@code y}, or {@code locale} to take the order from the short localized date pattern. Panels only
+ * add their components in plan order.
+ */
+final class LayoutPlan {
+
+    private static final Map<Locale, LayoutPlan> datePlans = new ConcurrentHashMap<>();
+
+    private static final CC separatorConstraints = LayoutConstraints.component("");
+
+    private final List<Segment> segments;
+
+    private final List<Slot> slots;
+
+    private record Slot(Segment segment, String captionKey, CC captionConstraints, CC fieldConstraints) {
+    }
+
+    private LayoutPlan(List<Segment> segments, Messages messages) {
+        var compiled = new ArrayList<Slot>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            var name = segment.name().toLowerCase(Locale.ROOT);
+            var constraints = messages.get(format("panel.%s.field.%s.constraints", isDate(segment) ? "date" : "time", name));
+            boolean last = i == segments.size() - 1;
+            compiled.add(new Slot(segment, name + ".caption",
+                    LayoutConstraints.component(constraints, last ? "wrap" : "span 2"),
+                    last ? LayoutConstraints.component(constraints, "wrap") : LayoutConstraints.component(constraints)));
+        }
+        this.segments = List.copyOf(segments);
+        this.slots = List.copyOf(compiled);
+    }
+
+    static LayoutPlan of(List<Segment> segments, Messages messages) {
+        return new LayoutPlan(segments, messages);
+    }
+
+    static LayoutPlan date(Messages messages) {
+        return datePlans.computeIfAbsent(messages.getLocale(), locale -> new LayoutPlan(dateSegments(messages), messages));
+    }
+
+    static void invalidate() {
+        datePlans.clear();
+    }
+
+    List<Segment> segments() {
+        return segments;
+    }
+
+    /**
+     * Adds a caption for every segment in the first row and the fields, separated by separators, in the second.
+     */
+    void layout(Container panel, Function<String, JComponent> captions, Function<Segment, JComponent> fields,
+                Supplier<JComponent> separators) {
+        for (var slot : slots) {
+            panel.add(captions.apply(slot.captionKey()), slot.captionConstraints());
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            var slot = slots.get(i);
+            if (i > 0) {
+                panel.add(separators.get(), separatorConstraints);
+            }
+            panel.add(fields.apply(slot.segment()), slot.fieldConstraints());
+        }
+    }
+
+    private static List<Segment> dateSegments(Messages messages) {
+        var fields = messages.get("date.ui.fields");
+        if ("locale".equals(fields)) {
+            fields = localizedDateFields(messages.getLocale());
+        }
+        var segments = new ArrayList<Segment>(fields.length());
+        for (int i = 0; i < fields.length(); i++) {
+            var segment = switch (fields.charAt(i)) {
+                case 'd' -> Segment.DAY;
+                case 'm' -> Segment.MONTH;
+                case 'y' -> Segment.YEAR;
+                default -> throw new UnexpectedFieldException(format("%s is not a valid field", fields.charAt(i)));
+            };
+            if (segments.contains(segment)) {
+                throw new UnexpectedFieldException(format("%s is used more than once", fields.charAt(i)));
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    static String localizedDateFields(Locale locale) {
+        var pattern = DateTimeFormatterBuilder.getLocalizedDateTimePattern(FormatStyle.SHORT, null, IsoChronology.INSTANCE, locale);
+        var fields = new StringBuilder(3);
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+            var field = quoted ? "" : switch (c) {
+                case 'd' -> "d";
+                case 'M', 'L' -> "m";
+                case 'y', 'u' -> "y";
+                default -> "";
+            };
+            if (!field.isEmpty() && fields.indexOf(field) < 0) {
+                fields.append(field);
+            }
+        }
+        return fields.toString();
+    }
+
+    private static boolean isDate(Segment segment) {
+        return segment == Segment.DAY || segment == Segment.MONTH || segment == Segment.YEAR;
+    }
+}
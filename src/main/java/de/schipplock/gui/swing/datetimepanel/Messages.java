@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of all messages of the panel resource bundle for one locale.
+ * <p>
+ * Snapshots are resolved once per locale and cached. The cache follows {@link Locale#getDefault()},
+ * so a changed default locale is picked up by the next panel that is created. Call {@link #invalidate()}
+ * after replacing the bundle at runtime.
+ */
+public final class Messages {
+
+    private static final String BUNDLE_NAME = Panel.class.getPackageName().replace(".", "/") + "/i18n/MessagesBundle";
+
+    private static final Map<Locale, Messages> cache = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+
+    private final Map<String, String> messages;
+
+    private Messages(Locale locale) {
+        var bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale);
+        var resolved = new HashMap<String, String>();
+        for (var key : bundle.keySet()) {
+            resolved.put(key, bundle.getString(key));
+        }
+        this.locale = locale;
+        this.messages = Map.copyOf(resolved);
+    }
+
+    public static Messages get() {
+        return get(Locale.getDefault());
+    }
+
+    public static Messages get(Locale locale) {
+        return cache.computeIfAbsent(locale, Messages::new);
+    }
+
+    public static void invalidate() {
+        cache.clear();
+        LayoutPlan.invalidate();
+        PanelMetadata.invalidate();
+        ResourceBundle.clearCache(Messages.class.getClassLoader());
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public String get(String key) {
+        var message = messages.get(key);
+        if (message == null) {
+            throw new MissingResourceException("Can't find resource for bundle " + BUNDLE_NAME + ", key " + key, BUNDLE_NAME, key);
+        }
+        return message;
+    }
+}
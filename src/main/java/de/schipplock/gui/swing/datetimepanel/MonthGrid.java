@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed layout of a month in a 6x7 calendar grid: the offset of the first day, the length of the
+ * month and the week number of each row.
+ * <p>
+ * Grids are immutable and kept in a bounded LRU cache, paging through months computes each one only once.
+ */
+public final class MonthGrid {
+
+    public static final int ROWS = 6;
+
+    public static final int COLUMNS = 7;
+
+    private static final int cacheSize = 64;
+
+    private static final Map<Key, MonthGrid> cache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, MonthGrid> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    private final YearMonth yearMonth;
+
+    private final int firstDayOffset;
+
+    private final int lengthOfMonth;
+
+    private final int[] weekNumbers = new int[ROWS];
+
+    private MonthGrid(YearMonth yearMonth, WeekFields weekFields) {
+        var firstDay = yearMonth.atDay(1);
+        this.yearMonth = yearMonth;
+        this.firstDayOffset = firstDay.get(weekFields.dayOfWeek()) - 1;
+        this.lengthOfMonth = yearMonth.lengthOfMonth();
+        var rowStart = firstDay.minusDays(firstDayOffset);
+        for (int row = 0; row < ROWS; row++) {
+            weekNumbers[row] = rowStart.plusWeeks(row).get(weekFields.weekOfWeekBasedYear());
+        }
+    }
+
+    public static MonthGrid of(YearMonth yearMonth, WeekFields weekFields) {
+        var key = new Key(yearMonth, weekFields);
+        synchronized (cache) {
+            return cache.computeIfAbsent(key, k -> new MonthGrid(k.yearMonth(), k.weekFields()));
+        }
+    }
+
+    public YearMonth getYearMonth() {
+        return yearMonth;
+    }
+
+    /**
+     * @return the column of the first day of the month, 0 being the first day of the week
+     */
+    public int getFirstDayOffset() {
+        return firstDayOffset;
+    }
+
+    public int getLengthOfMonth() {
+        return lengthOfMonth;
+    }
+
+    public int getWeekNumber(int row) {
+        return weekNumbers[row];
+    }
+
+    /**
+     * @return the day of month shown in the given cell, or 0 if the cell lies outside the month
+     */
+    public int getDayOfMonth(int row, int column) {
+        int day = row * COLUMNS + column - firstDayOffset + 1;
+        return day >= 1 && day <= lengthOfMonth ? day : 0;
+    }
+
+    public int getRow(int dayOfMonth) {
+        return (dayOfMonth - 1 + firstDayOffset) / COLUMNS;
+    }
+
+    public int getColumn(int dayOfMonth) {
+        return (dayOfMonth - 1 + firstDayOffset) % COLUMNS;
+    }
+
+    public LocalDate atDay(int dayOfMonth) {
+        return yearMonth.atDay(dayOfMonth);
+    }
+
+    private record Key(YearMonth yearMonth, WeekFields weekFields) {
+    }
+}
@@ -15,15 +15,16 @@
  */
 package de.schipplock.gui.swing.datetimepanel;
 
-import de.schipplock.gui.swing.datetimepanel.listener.TextFieldKeyListener;
+import de.schipplock.gui.swing.datetimepanel.listener.TextFieldDocumentListener;
+import de.schipplock.gui.swing.datetimepanel.verifier.DigitDocumentFilter;
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
 import de.schipplock.gui.swing.datetimepanel.verifier.Verifier;
+import net.miginfocom.layout.LC;
 
 import javax.swing.*;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
-import java.util.ResourceBundle;
-import java.util.Set;
 
 import static java.lang.String.format;
 
@@ -31,56 +32,94 @@ public interface Panel {
 
     Color defaultForeground = new JTextField().getForeground();
 
-    default TextFieldKeyListener createTextFieldKeyListener(Set<JTextField> invalidTextFields, Verifier verifier) {
-        return new TextFieldKeyListener(new InputVerifier() {
-            @Override
-            public boolean verify(JComponent input) {
-                return verifyTextField((JTextField) input, invalidTextFields, verifier);
-            }
-        }) {
-            @Override
-            public void keyReleased(KeyEvent e) {
-                inputVerifier.verify((JTextField) e.getSource());
-            }
-        };
+    /**
+     * With {@code -Ddatetimepanel.lazy=true} captions, tooltips, separators and the AM/PM combo box are only
+     * created once a panel is shown or measured, panels that are never shown stay small and cheap. This is
+     * the default for panels whose constructor takes no {@code lazy} flag.
+     */
+    boolean lazyRealization = Boolean.getBoolean("datetimepanel.lazy");
+
+    /**
+     * Restricts the field to digits within range if {@code verifier} is a {@link RangeVerifier} and verifies
+     * it with {@code inputVerifier} on every change. A panel shares one input verifier between its fields.
+     */
+    default void installTextFieldVerifier(JTextField textField, Verifier verifier, InputVerifier inputVerifier, Runnable changeNotifier) {
+        if (verifier instanceof RangeVerifier rangeVerifier && textField.getDocument() instanceof AbstractDocument document) {
+            document.setDocumentFilter(DigitDocumentFilter.forRange(rangeVerifier));
+        }
+        textField.getDocument().addDocumentListener(new TextFieldDocumentListener(textField, inputVerifier, changeNotifier));
     }
 
-    default KeyAdapter createChangeNotifierKeyListener(Runnable changeNotifier) {
-        return new KeyAdapter() {
-            @Override
-            public void keyReleased(KeyEvent e) {
-                changeNotifier.run();
-            }
-        };
+    /**
+     * @return {@code invalidFields} with the bit of {@code segment} updated to the verification result
+     */
+    default int verifyTextField(JTextField textField, Segment segment, int invalidFields, Verifier verifier) {
+        return markTextField(textField, segment, invalidFields, verifier.verify(textField.getDocument()));
     }
 
-    default boolean verifyTextField(JTextField textField, Set<JTextField> invalidTextFields, Verifier verifier) {
-        boolean verified = verifier.verify(textField.getText());
-        if (!verified) {
-            textField.setForeground(Color.RED);
-            invalidTextFields.add(textField);
-        } else {
-            textField.setForeground(defaultForeground);
-            invalidTextFields.remove(textField);
+    /**
+     * Shows the field red unless {@code valid}.
+     *
+     * @return {@code invalidFields} with the bit of {@code segment} cleared if {@code valid}, set otherwise
+     */
+    default int markTextField(JTextField textField, Segment segment, int invalidFields, boolean valid) {
+        textField.setForeground(valid ? defaultForeground : Color.RED);
+        return valid ? invalidFields & ~segment.mask() : invalidFields | segment.mask();
+    }
+
+    /**
+     * Shows the field red while {@code highlighted}, e.g. because the value is out of bounds. A field whose
+     * segment is in {@code invalidFields} stays red either way, a {@code null} field is skipped.
+     */
+    default void highlightTextField(JTextField textField, Segment segment, int invalidFields, boolean highlighted) {
+        if (textField != null) {
+            textField.setForeground(highlighted || (invalidFields & segment.mask()) != 0 ? Color.RED : defaultForeground);
         }
-        return verified;
     }
 
-    default String m(String key) {
-        ResourceBundle bundle = ResourceBundle.getBundle(format("%s/i18n/MessagesBundle", getClass().getPackageName().replace(".", "/")));
-        return bundle.getString(key);
+    /**
+     * Sets the text of the field unless it already holds exactly that text, which would cause a pointless
+     * replacement, verification and change notification.
+     */
+    default void updateText(JTextField textField, String text) {
+        var document = textField.getDocument();
+        if (document.getLength() == text.length()) {
+            var content = new javax.swing.text.Segment();
+            try {
+                document.getText(0, document.getLength(), content);
+            } catch (BadLocationException ex) {
+                textField.setText(text);
+                return;
+            }
+            if (text.contentEquals(content)) {
+                return;
+            }
+        }
+        textField.setText(text);
     }
 
-    static String getLayoutConstraints() {
-        var constraints = System.getenv("MIGLAYOUT_CONSTRAINTS");
-        var layoutDefaults = "gap 0 0, ins 0 4 4 4";
+    /**
+     * Creates the caption for the given message key, as HTML label if {@code captions.html} is set.
+     */
+    default JComponent createCaption(String key) {
+        if (Boolean.parseBoolean(m("captions.html"))) {
+            return new JLabel(format("<html><font size=1><b>%s</b></font></html>", m(key)));
+        }
+        return new CaptionLabel(m(key));
+    }
 
-        if (constraints == null) {
-            constraints = layoutDefaults;
-        } else {
-            constraints = format("%s, %s", layoutDefaults, constraints);
+    default JComponent createSeparator(String key) {
+        if (Boolean.parseBoolean(m("captions.html"))) {
+            return new JLabel(format("<html>&nbsp;%s&nbsp;</html>", m(key)));
         }
+        return new JLabel(format(" %s ", m(key)));
+    }
+
+    default String m(String key) {
+        return Messages.get().get(key);
+    }
 
-        return constraints;
+    static LC getLayoutConstraints() {
+        return LayoutConstraints.layout("gap 0 0, ins 0 4 4 4");
     }
 }
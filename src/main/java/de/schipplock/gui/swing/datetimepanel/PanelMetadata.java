@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable field metadata shared by all panels of one locale: verifiers, time format and date layout.
+ * <p>
+ * Panels hold a reference to it instead of building their own. Verifiers that don't depend on the locale
+ * are constants. Metadata is cached per locale, {@link Messages#invalidate()} drops the cache.
+ */
+final class PanelMetadata {
+
+    static final RangeVerifier DAY_VERIFIER = new RangeVerifier(1, 31);
+
+    static final RangeVerifier MONTH_VERIFIER = new RangeVerifier(1, 12);
+
+    static final RangeVerifier YEAR_VERIFIER = new RangeVerifier(DateTimeModel.MIN_YEAR, DateTimeModel.MAX_YEAR);
+
+    static final RangeVerifier MINUTE_VERIFIER = new RangeVerifier(0, 59);
+
+    static final RangeVerifier SECOND_VERIFIER = new RangeVerifier(0, 59);
+
+    static final RangeVerifier MILLISECOND_VERIFIER = new RangeVerifier(0, 999);
+
+    private static final RangeVerifier twelveHourVerifier = new RangeVerifier(1, 12);
+
+    private static final RangeVerifier twentyFourHourVerifier = new RangeVerifier(0, 23);
+
+    private static final Map<Locale, PanelMetadata> cache = new ConcurrentHashMap<>();
+
+    private final TimeFormat timeFormat;
+
+    private final LayoutPlan datePlan;
+
+    private PanelMetadata(Messages messages) {
+        this.timeFormat = TimeFormat.of(messages);
+        this.datePlan = LayoutPlan.date(messages);
+    }
+
+    static PanelMetadata of(Messages messages) {
+        return cache.computeIfAbsent(messages.getLocale(), locale -> new PanelMetadata(messages));
+    }
+
+    static void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * @return the shared year verifier, or a verifier for the years of the bounds of {@code model} if they
+     * are narrower
+     */
+    static RangeVerifier yearVerifier(DateTimeModel model) {
+        int min = model.getMin().getYear();
+        int max = model.getMax().getYear();
+        return min == YEAR_VERIFIER.getMin() && max == YEAR_VERIFIER.getMax() ? YEAR_VERIFIER : new RangeVerifier(min, max);
+    }
+
+    TimeFormat timeFormat() {
+        return timeFormat;
+    }
+
+    boolean isTwelveHour() {
+        return timeFormat.isTwelveHour();
+    }
+
+    RangeVerifier hourVerifier() {
+        return timeFormat.isTwelveHour() ? twelveHourVerifier : twentyFourHourVerifier;
+    }
+
+    LayoutPlan datePlan() {
+        return datePlan;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * Compact state of a panel, independent of its component tree: the value as epoch day and nano of day,
+ * the zone, the raw text of each segment and the invalid segments as bitmask.
+ * <p>
+ * Use {@link #write(DataOutput)} and {@link #read(DataInput)} to store many states in a few dozen bytes
+ * each, or Java serialization, which uses the same format. Parts a panel doesn't show are absent and are
+ * left untouched on restore.
+ */
+public final class PanelState implements Externalizable {
+
+    @Serial
+    private static final long serialVersionUID = 2318446271094530812L;
+
+    private static final byte VERSION = 1;
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private static final Segment[] segments = Segment.values();
+
+    private long epochDay = ABSENT;
+
+    private long nanoOfDay = ABSENT;
+
+    private String zone;
+
+    private String[] texts = new String[segments.length];
+
+    private int invalidFields;
+
+    /**
+     * Creates an empty state, for deserialization only.
+     */
+    public PanelState() {
+    }
+
+    PanelState(LocalDate date, LocalTime time, ZoneId zone, String[] texts, int invalidFields) {
+        this.epochDay = date == null ? ABSENT : date.toEpochDay();
+        this.nanoOfDay = time == null ? ABSENT : time.toNanoOfDay();
+        this.zone = zone == null ? null : zone.getId();
+        this.texts = texts;
+        this.invalidFields = invalidFields;
+    }
+
+    static String[] newTexts() {
+        return new String[segments.length];
+    }
+
+    /**
+     * @return the date, {@code null} if it was invalid or is not part of the state
+     */
+    public LocalDate getLocalDate() {
+        return epochDay == ABSENT ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * @return the time, {@code null} if it was invalid or is not part of the state
+     */
+    public LocalTime getLocalTime() {
+        return nanoOfDay == ABSENT ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    /**
+     * @return date and time, {@code null} unless both are part of the state
+     */
+    public LocalDateTime getLocalDateTime() {
+        return epochDay == ABSENT || nanoOfDay == ABSENT ? null : LocalDateTime.of(getLocalDate(), getLocalTime());
+    }
+
+    /**
+     * @return the zone, {@code null} if it is not part of the state
+     */
+    public ZoneId getZone() {
+        return zone == null ? null : ZoneId.of(zone);
+    }
+
+    /**
+     * @return the text as entered, {@code null} if the segment is not part of the state
+     */
+    public String getText(Segment segment) {
+        return texts[segment.ordinal()];
+    }
+
+    public boolean isInvalid(Segment segment) {
+        return (invalidFields & segment.mask()) != 0;
+    }
+
+    public int getInvalidFields() {
+        return invalidFields;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeLong(epochDay);
+        out.writeLong(nanoOfDay);
+        out.writeUTF(zone == null ? "" : zone);
+        out.writeInt(invalidFields);
+        int textMask = 0;
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i] != null) {
+                textMask |= 1 << i;
+            }
+        }
+        out.writeShort(textMask);
+        for (var text : texts) {
+            if (text != null) {
+                out.writeUTF(text);
+            }
+        }
+    }
+
+    public static PanelState read(DataInput in) throws IOException {
+        var state = new PanelState();
+        state.readFrom(in);
+        return state;
+    }
+
+    /**
+     * Writes the number of states followed by the states.
+     */
+    public static void writeAll(DataOutput out, Collection<PanelState> states) throws IOException {
+        out.writeInt(states.size());
+        for (var state : states) {
+            state.write(out);
+        }
+    }
+
+    public static List<PanelState> readAll(DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new StreamCorruptedException(format("invalid number of panel states: %d", size));
+        }
+        var states = new ArrayList<PanelState>(size);
+        for (int i = 0; i < size; i++) {
+            states.add(read(in));
+        }
+        return states;
+    }
+
+    private void readFrom(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException(format("unsupported panel state version: %d", version));
+        }
+        epochDay = in.readLong();
+        nanoOfDay = in.readLong();
+        var zoneId = in.readUTF();
+        zone = zoneId.isEmpty() ? null : zoneId;
+        invalidFields = in.readInt();
+        int textMask = in.readUnsignedShort();
+        texts = new String[segments.length];
+        for (int i = 0; i < texts.length; i++) {
+            if ((textMask & 1 << i) != 0) {
+                texts[i] = in.readUTF();
+            }
+        }
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        write(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        readFrom(in);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PanelState other && epochDay == other.epochDay && nanoOfDay == other.nanoOfDay
+                && invalidFields == other.invalidFields && Objects.equals(zone, other.zone) && Arrays.equals(texts, other.texts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(epochDay) * 31 + Long.hashCode(nanoOfDay) * 17 + Arrays.hashCode(texts);
+    }
+}
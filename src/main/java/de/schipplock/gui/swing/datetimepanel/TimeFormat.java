@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import java.time.LocalTime;
+import java.time.temporal.ChronoField;
+
+/**
+ * Immutable, thread-safe time formatting in 12 or 24 hour mode.
+ * <p>
+ * There is one shared instance per mode. The panels do not need a text round-trip: field values are
+ * rendered from and assembled into a {@link LocalTime} directly.
+ */
+public final class TimeFormat {
+
+    private static final String[] twoDigits = new String[60];
+
+    static {
+        for (int i = 0; i < twoDigits.length; i++) {
+            twoDigits[i] = i < 10 ? "0" + i : String.valueOf(i);
+        }
+    }
+
+    private static final TimeFormat twelveHourFormat = new TimeFormat(true);
+
+    private static final TimeFormat twentyFourHourFormat = new TimeFormat(false);
+
+    private final boolean twelveHour;
+
+    private TimeFormat(boolean twelveHour) {
+        this.twelveHour = twelveHour;
+    }
+
+    /**
+     * @return the shared instance of the given mode; fields are rendered with ascii digits in every locale
+     */
+    public static TimeFormat of(boolean twelveHour) {
+        return twelveHour ? twelveHourFormat : twentyFourHourFormat;
+    }
+
+    /**
+     * @return the time format configured by the resource bundle of the given messages
+     */
+    public static TimeFormat of(Messages messages) {
+        return of(Boolean.parseBoolean(messages.get("12hour")));
+    }
+
+    public boolean isTwelveHour() {
+        return twelveHour;
+    }
+
+    public String formatHour(LocalTime localTime) {
+        return String.valueOf(twelveHour ? localTime.get(ChronoField.CLOCK_HOUR_OF_AMPM) : localTime.getHour());
+    }
+
+    public String formatMinute(LocalTime localTime) {
+        return twoDigits[localTime.getMinute()];
+    }
+
+    public String formatSecond(LocalTime localTime) {
+        return twoDigits[localTime.getSecond()];
+    }
+
+    public String formatMillisecond(LocalTime localTime) {
+        int millisecond = localTime.getNano() / 1_000_000;
+        return millisecond < 10 ? "00" + millisecond : millisecond < 100 ? "0" + millisecond : String.valueOf(millisecond);
+    }
+
+    public boolean isPm(LocalTime localTime) {
+        return localTime.getHour() >= 12;
+    }
+
+    /**
+     * @param hour the hour as entered, 1..12 in 12 hour mode and 0..23 otherwise
+     */
+    public LocalTime toLocalTime(int hour, int minute, boolean pm) {
+        return twelveHour ? LocalTime.of(hour % 12 + (pm ? 12 : 0), minute) : LocalTime.of(hour, minute);
+    }
+}
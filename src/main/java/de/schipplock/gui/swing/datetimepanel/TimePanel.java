@@ -16,17 +16,26 @@
 package de.schipplock.gui.swing.datetimepanel;
 
 import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidTimeValuesException;
-import de.schipplock.gui.swing.datetimepanel.verifier.Verifier;
+import de.schipplock.gui.swing.datetimepanel.exceptions.UnexpectedFieldException;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelConstructionEvent;
+import de.schipplock.gui.swing.datetimepanel.jfr.PanelLayoutEvent;
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import de.schipplock.gui.swing.datetimepanel.listener.ChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.StepListener;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeDispatcher;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeListener;
+import de.schipplock.gui.swing.datetimepanel.verifier.RangeVerifier;
 import net.miginfocom.swing.MigLayout;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ItemEvent;
 import java.io.Serial;
-import java.io.Serializable;
+import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.temporal.ChronoField;
-import java.util.HashSet;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Set;
 
 import static java.lang.String.format;
@@ -36,104 +45,541 @@ public class TimePanel extends JPanel implements Panel {
     @Serial
     private static final long serialVersionUID = 7115382014751309738L;
 
-    private final boolean is12hourMode = Boolean.parseBoolean(m("12hour"));
+    private static final Set<Segment> optionalSegments = EnumSet.of(Segment.SECOND, Segment.MILLISECOND, Segment.ZONE);
 
-    private final DateTimeFormatterBuilder dateTimeFormatterBuilder = new DateTimeFormatterBuilder().appendPattern("H:mm");
+    private final PanelMetadata metadata = PanelMetadata.of(Messages.get());
 
-    private final DateTimeFormatterBuilder dateTimeFormatterBuilder12Hours = new DateTimeFormatterBuilder().appendPattern("h:mm ").appendText(ChronoField.AMPM_OF_DAY);
+    private final DateTimeModel model;
 
-    private final Set<JTextField> invalidTextFields = new HashSet<>();
+    private final Set<Segment> segments;
+
+    private final InputVerifier inputVerifier = new InputVerifier() {
+        @Override
+        public boolean verify(JComponent input) {
+            return verifyField((JTextField) input);
+        }
+    };
+
+    private int invalidFields;
+
+    private final ChangeDispatcher changeDispatcher = new ChangeDispatcher();
+
+    private final ValueChangeDispatcher<LocalTime> valueChangeDispatcher = new ValueChangeDispatcher<>(this, this::getValidLocalTime);
 
     private final JTextField hourTextField = new JTextField(2);
 
     private final JTextField minuteTextField = new JTextField(2);
 
-    private final JComboBox<String> ampmComboBox = new JComboBox<>(new String[] {"AM", "PM"});
+    private final JTextField secondTextField;
 
-    private final Verifier hourVerifier = (Verifier & Serializable) value -> {
-        try {
-            var hourLimit = is12hourMode ? 12 : 23;
-            return Integer.parseInt(value) >= 1 && Integer.parseInt(value) <= hourLimit;
-        } catch (NumberFormatException ex) {
-            return false;
-        }
-    };
+    private final JTextField millisecondTextField;
 
-    private final Verifier minuteVerifier = (Verifier & Serializable) value -> {
-        try {
-            return Integer.parseInt(value) >= 1 && Integer.parseInt(value) <= 59;
-        } catch (NumberFormatException ex) {
-            return false;
-        }
-    };
+    private JComboBox<String> ampmComboBox;
 
-    public TimePanel(LocalTime localTime) {
+    private JComboBox<String> zoneComboBox;
+
+    private ZoneComboBoxModel zoneComboBoxModel;
+
+    private boolean pm;
+
+    private boolean realized;
+
+    private boolean bindingModel;
+
+    /**
+     * Creates a panel that shows and edits the time part of {@code model}. Changes of the model made on
+     * other threads are shown on the EDT.
+     *
+     * @param segments optional segments to show in addition to hour and minute: {@link Segment#SECOND},
+     *                 {@link Segment#MILLISECOND} (requires seconds) and {@link Segment#ZONE}. Segments that
+     *                 are not shown keep the value of the model.
+     * @param lazy     whether captions, tooltips, separators and combo boxes are only created once the panel
+     *                 is shown or measured, see {@link Panel#lazyRealization}
+     */
+    public TimePanel(DateTimeModel model, Set<Segment> segments, boolean lazy) {
         super(new MigLayout(Panel.getLayoutConstraints()), true);
 
+        var event = new PanelConstructionEvent();
+        event.begin();
+
+        if (!optionalSegments.containsAll(segments)) {
+            throw new IllegalArgumentException(format("only %s can be added to a time panel, got %s", optionalSegments, segments));
+        }
+        if (segments.contains(Segment.MILLISECOND) && !segments.contains(Segment.SECOND)) {
+            throw new IllegalArgumentException("milliseconds can only be shown together with seconds");
+        }
+
+        this.model = model;
+        this.segments = segments.isEmpty() ? EnumSet.noneOf(Segment.class) : EnumSet.copyOf(segments);
+
         setBorder(new PanelBorder());
 
-        var hourLabel = new JLabel(m("hour.caption"));
-        hourTextField.setToolTipText(m("hour.tooltip"));
         hourTextField.setHorizontalAlignment(SwingConstants.CENTER);
-
-        var minuteLabel = new JLabel(m("minute.caption"));
-        minuteTextField.setToolTipText(m("minute.tooltip"));
         minuteTextField.setHorizontalAlignment(SwingConstants.CENTER);
+        secondTextField = this.segments.contains(Segment.SECOND) ? new JTextField(2) : null;
+        millisecondTextField = this.segments.contains(Segment.MILLISECOND) ? new JTextField(3) : null;
+
+        changeDispatcher.add(this::updateModel);
+        changeDispatcher.add(valueChangeDispatcher);
+        installTextFieldVerifier(hourTextField, metadata.hourVerifier(), inputVerifier, changeDispatcher);
+        installTextFieldVerifier(minuteTextField, PanelMetadata.MINUTE_VERIFIER, inputVerifier, changeDispatcher);
+        StepListener.install(hourTextField, amount -> model.step(Segment.HOUR, amount));
+        StepListener.install(minuteTextField, amount -> model.step(Segment.MINUTE, amount));
+        if (secondTextField != null) {
+            secondTextField.setHorizontalAlignment(SwingConstants.CENTER);
+            installTextFieldVerifier(secondTextField, PanelMetadata.SECOND_VERIFIER, inputVerifier, changeDispatcher);
+            StepListener.install(secondTextField, amount -> model.step(Segment.SECOND, amount));
+        }
+        if (millisecondTextField != null) {
+            millisecondTextField.setHorizontalAlignment(SwingConstants.CENTER);
+            installTextFieldVerifier(millisecondTextField, PanelMetadata.MILLISECOND_VERIFIER, inputVerifier, changeDispatcher);
+            StepListener.install(millisecondTextField, amount -> model.step(Segment.MILLISECOND, amount));
+        }
+
+        var snapshot = model.getSnapshot();
+        pm = snapshot.hour() >= 12;
+        bindingModel = true;
+        hourTextField.setText(hourText(snapshot.hour()));
+        minuteTextField.setText(minuteText(snapshot.minute()));
+        if (secondTextField != null) {
+            secondTextField.setText(secondText(snapshot.second()));
+        }
+        if (millisecondTextField != null) {
+            millisecondTextField.setText(millisecondText(snapshot.nano()));
+        }
+        bindingModel = false;
+
+        model.addListener(e -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                bindModel();
+            } else {
+                SwingUtilities.invokeLater(this::bindModel);
+            }
+        });
+
+        if (!lazy) {
+            realize();
+        }
+
+        event.commit(this);
+    }
+
+    public TimePanel(DateTimeModel model, Set<Segment> segments) {
+        this(model, segments, lazyRealization);
+    }
 
-        hourTextField.addKeyListener(createTextFieldKeyListener(invalidTextFields, hourVerifier));
-        minuteTextField.addKeyListener(createTextFieldKeyListener(invalidTextFields, minuteVerifier));
+    public TimePanel(DateTimeModel model) {
+        this(model, Set.of());
+    }
 
-        ampmComboBox.setMinimumSize(new Dimension(20, ampmComboBox.getHeight()));
+    public TimePanel(LocalTime localTime) {
+        this(new DateTimeModel(localTime.truncatedTo(ChronoUnit.MINUTES).atDate(LocalDate.now())));
+    }
 
-        add(hourLabel, format("%s, span 2", m("panel.time.field.hour.constraints")));
-        add(minuteLabel, format("%s, span 2, wrap", m("panel.time.field.minute.constraints")));
+    /**
+     * Creates captions, tooltips, separators and the AM/PM and zone combo boxes and lays out the panel,
+     * unless that happened already.
+     */
+    private void realize() {
+        if (realized) {
+            return;
+        }
+        realized = true;
+
+        boolean zone = segments.contains(Segment.ZONE);
+        var lastCaption = millisecondTextField != null ? Segment.MILLISECOND : secondTextField != null ? Segment.SECOND : Segment.MINUTE;
+
+        hourTextField.setToolTipText(m("hour.tooltip"));
+        minuteTextField.setToolTipText(m("minute.tooltip"));
+        addCaption(Segment.HOUR, "span 2");
+        addCaption(Segment.MINUTE, lastCaption == Segment.MINUTE && !zone ? "span 2, wrap" : "span 2");
+        if (secondTextField != null) {
+            secondTextField.setToolTipText(m("second.tooltip"));
+            addCaption(Segment.SECOND, lastCaption == Segment.SECOND && !zone ? "span 2, wrap" : "span 2");
+        }
+        if (millisecondTextField != null) {
+            millisecondTextField.setToolTipText(m("millisecond.tooltip"));
+            addCaption(Segment.MILLISECOND, zone ? "span 2" : "span 2, wrap");
+        }
+        if (zone) {
+            addCaption(Segment.ZONE, metadata.isTwelveHour() ? "skip 2, wrap" : "wrap");
+        }
 
-        add(hourTextField, m("panel.time.field.hour.constraints"));
-        add(new JLabel(" : "), "");
-        add(minuteTextField, m("panel.time.field.minute.constraints"));
+        add(hourTextField, LayoutConstraints.component(m("panel.time.field.hour.constraints")));
+        add(new JLabel(" : "), LayoutConstraints.component(""));
+        add(minuteTextField, LayoutConstraints.component(m("panel.time.field.minute.constraints")));
+        if (secondTextField != null) {
+            add(new JLabel(" : "), LayoutConstraints.component(""));
+            add(secondTextField, LayoutConstraints.component(m("panel.time.field.second.constraints")));
+        }
+        if (millisecondTextField != null) {
+            add(new JLabel(" . "), LayoutConstraints.component(""));
+            add(millisecondTextField, LayoutConstraints.component(m("panel.time.field.millisecond.constraints")));
+        }
 
-        hourTextField.setText(localTime.format(new DateTimeFormatterBuilder().appendPattern("H").toFormatter()));
-        var minute = localTime.format(new DateTimeFormatterBuilder().appendPattern("mm").toFormatter());
-        minuteTextField.setText(minute);
+        if (metadata.isTwelveHour()) {
+            ampmComboBox = new JComboBox<>(new String[] {"AM", "PM"});
+            ampmComboBox.setMinimumSize(new Dimension(20, ampmComboBox.getHeight()));
+            ampmComboBox.setSelectedIndex(pm ? 1 : 0);
+            ampmComboBox.addItemListener(e -> {
+                if (e.getStateChange() == ItemEvent.SELECTED) {
+                    pm = ampmComboBox.getSelectedIndex() == 1;
+                    changeDispatcher.run();
+                }
+            });
+            add(new JLabel(" "), LayoutConstraints.component(""));
+            add(ampmComboBox, LayoutConstraints.component(m("panel.time.field.ampm.constraints")));
+        }
 
-        if (is12hourMode) {
-            add(new JLabel(" "), "");
-            hourTextField.setText(localTime.format(new DateTimeFormatterBuilder().appendPattern("h").toFormatter()));
-            var ampmValue = localTime.format(new DateTimeFormatterBuilder().appendPattern("").appendText(ChronoField.AMPM_OF_DAY).toFormatter());
-            ampmComboBox.getModel().setSelectedItem(ampmValue);
-            add(ampmComboBox, m("panel.time.field.ampm.constraints"));
+        if (zone) {
+            zoneComboBoxModel = new ZoneComboBoxModel(model.getSnapshot().zone().getId());
+            zoneComboBox = new JComboBox<>(zoneComboBoxModel);
+            zoneComboBox.setPrototypeDisplayValue("America/Argentina/Buenos_Aires");
+            zoneComboBox.setKeySelectionManager(new ZoneComboBoxModel.PrefixKeySelectionManager());
+            zoneComboBox.setToolTipText(m("zone.tooltip"));
+            zoneComboBox.addItemListener(e -> {
+                if (e.getStateChange() == ItemEvent.SELECTED && !bindingModel) {
+                    var selectedZone = ZoneIndex.find((String) e.getItem());
+                    if (selectedZone != null) {
+                        model.setZone(selectedZone);
+                    }
+                }
+            });
+            add(new JLabel(" "), LayoutConstraints.component(""));
+            add(zoneComboBox, LayoutConstraints.component(m("panel.time.field.zone.constraints")));
         }
     }
 
+    private void addCaption(Segment segment, String additionalConstraints) {
+        var name = segment.name().toLowerCase(Locale.ROOT);
+        add(createCaption(name + ".caption"), LayoutConstraints.component(m(format("panel.time.field.%s.constraints", name)), additionalConstraints));
+    }
+
+    @Override
+    public void addNotify() {
+        realize();
+        super.addNotify();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        realize();
+        return super.getPreferredSize();
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        realize();
+        return super.getMinimumSize();
+    }
+
+    @Override
+    public Dimension getMaximumSize() {
+        realize();
+        return super.getMaximumSize();
+    }
+
+    @Override
+    public void doLayout() {
+        var event = new PanelLayoutEvent();
+        event.begin();
+        super.doLayout();
+        event.commit(this);
+    }
+
     public TimePanel() {
         this(LocalTime.now());
     }
 
+    /**
+     * Shows the given value. Listeners are notified once, or not at all within {@link BatchUpdate#run(Runnable)}.
+     * Off the EDT the value is a plain model update and shown on the EDT.
+     */
+    public void setLocalTime(LocalTime localTime) {
+        BatchUpdate.coalesce(() -> {
+            bind(localTime);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void bind(LocalTime localTime) {
+        model.setLocalTime(localTime.truncatedTo(precision()));
+    }
+
+    /**
+     * Empties the fields, e.g. for a {@code null} table cell.
+     */
+    void clear() {
+        model.setTime(DateTimeModel.INVALID, DateTimeModel.INVALID, DateTimeModel.INVALID, DateTimeModel.INVALID);
+    }
+
+    /**
+     * @return the smallest unit shown by this panel
+     */
+    ChronoUnit precision() {
+        return millisecondTextField != null ? ChronoUnit.MILLIS : secondTextField != null ? ChronoUnit.SECONDS : ChronoUnit.MINUTES;
+    }
+
+    public DateTimeModel getModel() {
+        return model;
+    }
+
+    /**
+     * Writes the entered values to the model, {@link DateTimeModel#INVALID} for fields that don't hold a
+     * valid number.
+     */
+    private void updateModel() {
+        if (bindingModel) {
+            return;
+        }
+        var snapshot = model.getSnapshot();
+        int second = secondTextField == null ? snapshot.second() : PanelMetadata.SECOND_VERIFIER.parse(secondTextField.getDocument());
+        model.setTime(enteredHourOfDay(), PanelMetadata.MINUTE_VERIFIER.parse(minuteTextField.getDocument()), second, enteredNano(snapshot.nano()));
+    }
+
+    /**
+     * @return the entered milliseconds as nano of second, keeping the sub-millisecond part of {@code nano}
+     */
+    private int enteredNano(int nano) {
+        if (millisecondTextField == null) {
+            return nano;
+        }
+        int millisecond = PanelMetadata.MILLISECOND_VERIFIER.parse(millisecondTextField.getDocument());
+        if (millisecond == RangeVerifier.INVALID) {
+            return DateTimeModel.INVALID;
+        }
+        return millisecond * 1_000_000 + (nano < 0 ? 0 : nano % 1_000_000);
+    }
+
+    private int enteredHourOfDay() {
+        int hour = metadata.hourVerifier().parse(hourTextField.getDocument());
+        if (hour == RangeVerifier.INVALID || !metadata.isTwelveHour()) {
+            return hour;
+        }
+        return hour % 12 + (pm ? 12 : 0);
+    }
+
+    /**
+     * @return the time, the zone, the texts and the invalid fields of this panel, see {@link PanelState}
+     */
+    public PanelState saveState() {
+        var texts = PanelState.newTexts();
+        saveTexts(texts);
+        return new PanelState(null, getValidLocalTime(), model.getSnapshot().zone(), texts, invalidFields);
+    }
+
+    /**
+     * Restores a state saved by this or another panel, only the time part and the zone are applied.
+     * Listeners are notified once, or not at all within {@link BatchUpdate#run(Runnable)}. Must be called on
+     * the EDT.
+     */
+    public void restoreState(PanelState state) {
+        BatchUpdate.coalesce(() -> {
+            model.restore(null, state.getLocalTime(), state.getZone());
+            restoreTexts(state);
+            BatchUpdate.touch(this);
+        });
+    }
+
+    void saveTexts(String[] texts) {
+        texts[Segment.HOUR.ordinal()] = hourTextField.getText();
+        texts[Segment.MINUTE.ordinal()] = minuteTextField.getText();
+        if (secondTextField != null) {
+            texts[Segment.SECOND.ordinal()] = secondTextField.getText();
+        }
+        if (millisecondTextField != null) {
+            texts[Segment.MILLISECOND.ordinal()] = millisecondTextField.getText();
+        }
+        if (metadata.isTwelveHour()) {
+            texts[Segment.AMPM.ordinal()] = pm ? "PM" : "AM";
+        }
+    }
+
+    void restoreTexts(PanelState state) {
+        var ampm = state.getText(Segment.AMPM);
+        if (ampm != null) {
+            setPm(ampm.equals("PM"));
+        }
+        restoreText(hourTextField, Segment.HOUR, state);
+        restoreText(minuteTextField, Segment.MINUTE, state);
+        restoreText(secondTextField, Segment.SECOND, state);
+        restoreText(millisecondTextField, Segment.MILLISECOND, state);
+    }
+
+    private void restoreText(JTextField textField, Segment segment, PanelState state) {
+        if (textField == null) {
+            return;
+        }
+        var text = state.getText(segment);
+        if (text != null) {
+            updateText(textField, text);
+        }
+        if (state.isInvalid(segment)) {
+            invalidFields = markTextField(textField, segment, invalidFields, false);
+        }
+    }
+
+    int getInvalidFields() {
+        return invalidFields;
+    }
+
+    /**
+     * Shows the time part of the model, touching only the fields whose value differs from the model.
+     */
+    private void bindModel() {
+        var snapshot = model.getSnapshot();
+        BatchUpdate.coalesce(() -> {
+            bindingModel = true;
+            try {
+                if (enteredHourOfDay() != snapshot.hour()) {
+                    updateText(hourTextField, hourText(snapshot.hour()));
+                    if (snapshot.hour() != DateTimeModel.INVALID) {
+                        setPm(snapshot.hour() >= 12);
+                    }
+                }
+                if (PanelMetadata.MINUTE_VERIFIER.parse(minuteTextField.getDocument()) != snapshot.minute()) {
+                    updateText(minuteTextField, minuteText(snapshot.minute()));
+                }
+                if (secondTextField != null && PanelMetadata.SECOND_VERIFIER.parse(secondTextField.getDocument()) != snapshot.second()) {
+                    updateText(secondTextField, secondText(snapshot.second()));
+                }
+                if (millisecondTextField != null && PanelMetadata.MILLISECOND_VERIFIER.parse(millisecondTextField.getDocument()) != millisecond(snapshot.nano())) {
+                    updateText(millisecondTextField, millisecondText(snapshot.nano()));
+                }
+                if (zoneComboBoxModel != null) {
+                    // the model selects any id without scanning the list and only notifies on a change
+                    zoneComboBoxModel.setSelectedItem(snapshot.zone().getId());
+                }
+            } finally {
+                bindingModel = false;
+            }
+        });
+    }
+
+    private String hourText(int hour) {
+        return hour < 0 || hour > 23 ? "" : metadata.timeFormat().formatHour(LocalTime.of(hour, 0));
+    }
+
+    private String minuteText(int minute) {
+        return minute < 0 || minute > 59 ? "" : metadata.timeFormat().formatMinute(LocalTime.of(0, minute));
+    }
+
+    private String secondText(int second) {
+        return second < 0 || second > 59 ? "" : metadata.timeFormat().formatSecond(LocalTime.of(0, 0, second));
+    }
+
+    private static int millisecond(int nano) {
+        return nano < 0 ? DateTimeModel.INVALID : nano / 1_000_000;
+    }
+
+    private String millisecondText(int nano) {
+        return nano < 0 || nano > 999_999_999 ? "" : metadata.timeFormat().formatMillisecond(LocalTime.of(0, 0, 0, nano));
+    }
+
     public LocalTime getLocalTime() {
-        if (!invalidTextFields.isEmpty()) {
-            throw new InvalidTimeValuesException(format("could not create LocalTime object for given time values, hour: %s, minute: %s",
-                    hourTextField.getText(), minuteTextField.getText()));
+        var snapshot = model.getSnapshot();
+        if (snapshot.validateTime() instanceof ValidationResult.Invalid invalid) {
+            throw new InvalidTimeValuesException(format("could not create LocalTime object for given time values, hour: %s, minute: %s (%s)",
+                    hourTextField.getText(), minuteTextField.getText(), invalid.reason()));
+        }
+        return snapshot.toLocalTime();
+    }
+
+    private void setPm(boolean pm) {
+        if (!metadata.isTwelveHour() || this.pm == pm) {
+            return;
+        }
+        if (ampmComboBox != null) {
+            ampmComboBox.setSelectedIndex(pm ? 1 : 0);
+        } else {
+            this.pm = pm;
+            changeDispatcher.run();
+        }
+    }
+
+    /**
+     * Marks all fields invalid while an asynchronous verifier rejects the value, otherwise verifies them
+     * again.
+     */
+    void markRejected(boolean rejected) {
+        markRejected(hourTextField, rejected);
+        markRejected(minuteTextField, rejected);
+        markRejected(secondTextField, rejected);
+        markRejected(millisecondTextField, rejected);
+    }
+
+    private void markRejected(JTextField textField, boolean rejected) {
+        if (textField == null) {
+            return;
+        }
+        if (rejected) {
+            invalidFields = markTextField(textField, segment(textField), invalidFields, false);
+        } else {
+            verifyField(textField);
+        }
+    }
+
+    private boolean verifyField(JTextField textField) {
+        var segment = segment(textField);
+        invalidFields = verifyTextField(textField, segment, invalidFields, verifier(segment));
+        return (invalidFields & segment.mask()) == 0;
+    }
+
+    private Segment segment(JTextField textField) {
+        if (textField == hourTextField) {
+            return Segment.HOUR;
         }
-        var ampmValue = ampmComboBox.getModel().getElementAt(ampmComboBox.getSelectedIndex());
-        if (is12hourMode) {
-            var parsableDateTimeString = format("%s:%s %s", hourTextField.getText(), minuteTextField.getText(), ampmValue);
-            return LocalTime.parse(parsableDateTimeString, dateTimeFormatterBuilder12Hours.toFormatter());
+        if (textField == minuteTextField) {
+            return Segment.MINUTE;
         }
-        var parsableDateTimeString = format("%s:%s", hourTextField.getText(), minuteTextField.getText());
-        return LocalTime.parse(parsableDateTimeString, dateTimeFormatterBuilder.toFormatter());
+        return textField == secondTextField ? Segment.SECOND : Segment.MILLISECOND;
+    }
+
+    private RangeVerifier verifier(Segment segment) {
+        return switch (segment) {
+            case HOUR -> metadata.hourVerifier();
+            case MINUTE -> PanelMetadata.MINUTE_VERIFIER;
+            case SECOND -> PanelMetadata.SECOND_VERIFIER;
+            case MILLISECOND -> PanelMetadata.MILLISECOND_VERIFIER;
+            default -> throw new UnexpectedFieldException(format("%s is not a time field", segment));
+        };
+    }
+
+    void markOutOfRange(boolean outOfRange) {
+        highlightTextField(hourTextField, Segment.HOUR, invalidFields, outOfRange);
+        highlightTextField(minuteTextField, Segment.MINUTE, invalidFields, outOfRange);
+        highlightTextField(secondTextField, Segment.SECOND, invalidFields, outOfRange);
+        highlightTextField(millisecondTextField, Segment.MILLISECOND, invalidFields, outOfRange);
+    }
+
+    void addChangeNotifier(Runnable changeNotifier) {
+        changeDispatcher.add(changeNotifier);
     }
 
     public void onChange(Runnable changeNotifier) {
-        hourTextField.addKeyListener(createChangeNotifierKeyListener(changeNotifier));
-        minuteTextField.addKeyListener(createChangeNotifierKeyListener(changeNotifier));
+        changeDispatcher.add(BatchUpdate.batched(changeNotifier));
+    }
+
+    public void addValueChangeListener(ValueChangeListener<LocalTime> listener) {
+        valueChangeDispatcher.add(listener);
+    }
+
+    public void removeValueChangeListener(ValueChangeListener<LocalTime> listener) {
+        valueChangeDispatcher.remove(listener);
+    }
+
+    private LocalTime getValidLocalTime() {
+        return model.getSnapshot().toLocalTime();
+    }
+
+    /**
+     * Validates the entered time without throwing.
+     */
+    public ValidationResult validateTime() {
+        return model.getSnapshot().validateTime();
     }
 
     public boolean isValidTime() {
-        try {
-            getLocalTime();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return validateTime().isValid();
     }
 }
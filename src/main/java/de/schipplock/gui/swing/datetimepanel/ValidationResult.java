@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+/**
+ * Outcome of validating the values of a panel; validation never throws.
+ */
+public sealed interface ValidationResult {
+
+    Valid VALID = new Valid();
+
+    default boolean isValid() {
+        return this instanceof Valid;
+    }
+
+    record Valid() implements ValidationResult {
+    }
+
+    /**
+     * @param reason  a short, constant description of the problem
+     * @param segment the segment that holds the offending value, {@code null} if the value as a whole is
+     *                out of bounds
+     */
+    record Invalid(String reason, Segment segment) implements ValidationResult {
+    }
+}
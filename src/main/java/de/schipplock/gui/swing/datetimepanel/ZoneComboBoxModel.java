@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import javax.swing.*;
+import java.io.Serial;
+
+/**
+ * Combo box model over the shared {@link ZoneIndex}, so a zone selector costs no copy of the zone list.
+ * The selected item may be an id that is not listed, e.g. an offset.
+ */
+final class ZoneComboBoxModel extends AbstractListModel<String> implements ComboBoxModel<String> {
+
+    @Serial
+    private static final long serialVersionUID = -5746304082145134161L;
+
+    private static final long KEY_SEQUENCE_TIMEOUT = 1000L;
+
+    private Object selectedItem;
+
+    ZoneComboBoxModel(String selectedItem) {
+        this.selectedItem = selectedItem;
+    }
+
+    @Override
+    public int getSize() {
+        return ZoneIndex.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return ZoneIndex.get(index);
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        if (item != null && !item.equals(selectedItem)) {
+            selectedItem = item;
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        return selectedItem;
+    }
+
+    /**
+     * Selects the first zone starting with the keys typed in quick succession, using the prefix index
+     * instead of a scan over all items.
+     */
+    static final class PrefixKeySelectionManager implements JComboBox.KeySelectionManager {
+
+        private final StringBuilder prefix = new StringBuilder();
+
+        private long lastKeyTime;
+
+        @Override
+        public int selectionForKey(char key, ComboBoxModel<?> model) {
+            long now = System.currentTimeMillis();
+            if (now - lastKeyTime > KEY_SEQUENCE_TIMEOUT) {
+                prefix.setLength(0);
+            }
+            lastKeyTime = now;
+            prefix.append(key);
+            int index = ZoneIndex.indexOfPrefix(prefix);
+            if (index < 0) {
+                prefix.setLength(0);
+                prefix.append(key);
+                index = ZoneIndex.indexOfPrefix(prefix);
+            }
+            return index;
+        }
+    }
+}
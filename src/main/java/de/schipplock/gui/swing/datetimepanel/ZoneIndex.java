@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sorted, immutable index of all available zone ids for fast prefix lookups.
+ * <p>
+ * The index is built once on first use. Lookups are case-insensitive and use binary search, so they
+ * don't depend on the number of zones.
+ */
+public final class ZoneIndex {
+
+    private static final String[] ids;
+
+    private static final String[] keys;
+
+    private static final List<String> idList;
+
+    static {
+        ids = ZoneId.getAvailableZoneIds().toArray(new String[0]);
+        Arrays.sort(ids, Comparator.comparing(id -> id.toLowerCase(Locale.ROOT)));
+        keys = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = ids[i].toLowerCase(Locale.ROOT);
+        }
+        idList = List.of(ids);
+    }
+
+    private ZoneIndex() {
+    }
+
+    /**
+     * @return all zone ids, sorted case-insensitively
+     */
+    public static List<String> ids() {
+        return idList;
+    }
+
+    public static int size() {
+        return ids.length;
+    }
+
+    public static String get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return the zone ids starting with {@code prefix}, ignoring case
+     */
+    public static List<String> withPrefix(String prefix) {
+        var key = prefix.toLowerCase(Locale.ROOT);
+        return idList.subList(lowerBound(key), lowerBound(key + Character.MAX_VALUE));
+    }
+
+    /**
+     * @return the index of the first zone id starting with {@code prefix}, ignoring case, or -1
+     */
+    public static int indexOfPrefix(CharSequence prefix) {
+        var key = prefix.toString().toLowerCase(Locale.ROOT);
+        int index = lowerBound(key);
+        return index < keys.length && keys[index].startsWith(key) ? index : -1;
+    }
+
+    /**
+     * @return the index of {@code id}, ignoring case, or -1
+     */
+    public static int indexOf(String id) {
+        var key = id.toLowerCase(Locale.ROOT);
+        int index = lowerBound(key);
+        return index < keys.length && keys[index].equals(key) ? index : -1;
+    }
+
+    /**
+     * Resolves a listed zone id ignoring case, or any other id {@link ZoneId#of(String)} accepts, such as
+     * an offset.
+     *
+     * @return the zone or {@code null} if {@code id} doesn't denote one
+     */
+    public static ZoneId find(String id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            return ZoneId.of(ids[index]);
+        }
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
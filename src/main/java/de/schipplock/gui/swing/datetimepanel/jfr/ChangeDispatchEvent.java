@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Time from the start of a change notification until all subscribers returned.
+ */
+@Name("de.schipplock.datetimepanel.ChangeDispatch")
+@Label("Change Dispatch")
+@Category({"Swing", "DateTimePanel"})
+@StackTrace(false)
+public final class ChangeDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Dispatcher")
+    @Description("Class of the dispatcher")
+    String dispatcher;
+
+    @Label("Subscribers")
+    int subscribers;
+
+    @Label("Valid")
+    @Description("Whether the dispatched value is valid, always true for plain change notifications")
+    boolean valid;
+
+    /**
+     * Ends the event and commits it if it is enabled and exceeds the threshold.
+     */
+    public void commit(Object dispatcher, int subscribers, boolean valid) {
+        end();
+        if (shouldCommit()) {
+            this.dispatcher = dispatcher.getClass().getName();
+            this.subscribers = subscribers;
+            this.valid = valid;
+            commit();
+        }
+    }
+}
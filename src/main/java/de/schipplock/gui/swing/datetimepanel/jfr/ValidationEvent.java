@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.swing.*;
+
+/**
+ * Verification of a text field after its content changed.
+ */
+@Name("de.schipplock.datetimepanel.Validation")
+@Label("Field Validation")
+@Category({"Swing", "DateTimePanel"})
+@StackTrace(false)
+public final class ValidationEvent extends jdk.jfr.Event {
+
+    @Label("Panel")
+    @Description("Class of the panel the field belongs to")
+    String panel;
+
+    @Label("Text")
+    String text;
+
+    @Label("Valid")
+    boolean valid;
+
+    /**
+     * Ends the event and commits it if it is enabled and exceeds the threshold.
+     */
+    public void commit(JTextField textField, boolean valid) {
+        end();
+        if (shouldCommit()) {
+            var parent = textField.getParent();
+            this.panel = parent == null ? null : parent.getClass().getName();
+            this.text = textField.getText();
+            this.valid = valid;
+            commit();
+        }
+    }
+}
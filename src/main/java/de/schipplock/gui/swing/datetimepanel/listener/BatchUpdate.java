@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups programmatic value updates of many panels into one transaction on the EDT.
+ * <p>
+ * Within {@link #run(Runnable)} change notifications are suppressed; value change dispatchers silently
+ * pick up the final values afterwards. Within {@link #coalesce(Runnable)} every subscriber is notified
+ * once with the final value instead. Touched panels are revalidated and repainted once when the outermost
+ * batch ends, so loading a record into a form costs a single layout pass. The outermost batch decides
+ * whether notifications are suppressed or coalesced.
+ * <p>
+ * Batches only exist on the EDT. Called from another thread, the updates run as plain updates: the models
+ * hand them over to the EDT and every change is notified as usual.
+ *
+ * <pre>{@code
+ * BatchUpdate.run(() -> {
+ *     createdPanel.setLocalDateTime(record.created());
+ *     modifiedPanel.setLocalDateTime(record.modified());
+ * });
+ * }</pre>
+ */
+public final class BatchUpdate {
+
+    private static final Map<Object, Runnable> deferredActions = new LinkedHashMap<>();
+
+    private static final Set<JComponent> touchedComponents = new LinkedHashSet<>();
+
+    private static int depth;
+
+    private static boolean silent;
+
+    private BatchUpdate() {
+    }
+
+    /**
+     * Runs the updates without any change notifications.
+     */
+    public static void run(Runnable updates) {
+        execute(updates, true);
+    }
+
+    /**
+     * Runs the updates and notifies every affected subscriber once afterwards.
+     */
+    public static void coalesce(Runnable updates) {
+        execute(updates, false);
+    }
+
+    private static void execute(Runnable updates, boolean silentBatch) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            updates.run();
+            return;
+        }
+        if (depth == 0) {
+            silent = silentBatch;
+        }
+        depth++;
+        try {
+            updates.run();
+        } finally {
+            if (--depth == 0) {
+                flush();
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return depth > 0 && SwingUtilities.isEventDispatchThread();
+    }
+
+    /**
+     * @return whether notifications of the running batch are dropped rather than coalesced
+     */
+    public static boolean isSilent() {
+        return silent;
+    }
+
+    /**
+     * Runs {@code action} once when the outermost batch ends; later registrations for the same key replace
+     * earlier ones.
+     */
+    public static void defer(Object key, Runnable action) {
+        deferredActions.put(key, action);
+    }
+
+    /**
+     * Marks a component for a single revalidate and repaint when the outermost batch ends.
+     */
+    public static void touch(JComponent component) {
+        if (isActive()) {
+            touchedComponents.add(component);
+        }
+    }
+
+    /**
+     * @return a notifier that is suppressed or deferred to the end of a running batch
+     */
+    public static Runnable batched(Runnable changeNotifier) {
+        return () -> {
+            if (!isActive()) {
+                changeNotifier.run();
+            } else if (!silent) {
+                defer(changeNotifier, changeNotifier);
+            }
+        };
+    }
+
+    private static void flush() {
+        while (!deferredActions.isEmpty()) {
+            var actions = deferredActions.values().toArray(new Runnable[0]);
+            deferredActions.clear();
+            for (var action : actions) {
+                action.run();
+            }
+        }
+        var components = touchedComponents.toArray(new JComponent[0]);
+        touchedComponents.clear();
+        for (var component : components) {
+            component.revalidate();
+            component.repaint();
+        }
+    }
+}
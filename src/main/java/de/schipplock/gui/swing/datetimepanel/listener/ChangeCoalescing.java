@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Configures how change notifications are coalesced.
+ * <p>
+ * A notification is delivered once no further change happened for {@code quietPeriod}, but never later
+ * than {@code maxLatency} after the first change of a burst. Without an executor the consumer runs on the
+ * EDT, otherwise on the executor and results are handed back to the EDT.
+ */
+public record ChangeCoalescing(Duration quietPeriod, Duration maxLatency, Executor executor) {
+
+    public ChangeCoalescing {
+        Objects.requireNonNull(quietPeriod, "quietPeriod");
+        Objects.requireNonNull(maxLatency, "maxLatency");
+        if (quietPeriod.isNegative() || maxLatency.compareTo(quietPeriod) < 0) {
+            throw new IllegalArgumentException("maxLatency must not be shorter than quietPeriod");
+        }
+    }
+
+    public static ChangeCoalescing of(Duration quietPeriod, Duration maxLatency) {
+        return new ChangeCoalescing(quietPeriod, maxLatency, null);
+    }
+
+    public ChangeCoalescing onExecutor(Executor executor) {
+        return new ChangeCoalescing(quietPeriod, maxLatency, Objects.requireNonNull(executor, "executor"));
+    }
+
+    public ChangeCoalescing onVirtualThreads() {
+        return onExecutor(Thread::startVirtualThread);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import de.schipplock.gui.swing.datetimepanel.jfr.ChangeDispatchEvent;
+
+import java.util.Arrays;
+
+/**
+ * Multicasts a change to all subscribers of a panel.
+ * <p>
+ * Subscribers are kept in a copy-on-write array, so a change costs one dispatch regardless of how many
+ * subscribers there are and subscribing while dispatching is safe.
+ */
+public class ChangeDispatcher implements Runnable {
+
+    private volatile Runnable[] subscribers = new Runnable[0];
+
+    public synchronized void add(Runnable subscriber) {
+        var current = subscribers;
+        var updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscriber;
+        subscribers = updated;
+    }
+
+    public synchronized void remove(Runnable subscriber) {
+        var current = subscribers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscriber) {
+                var updated = new Runnable[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscribers = updated;
+                return;
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.length;
+    }
+
+    @Override
+    public void run() {
+        var event = new ChangeDispatchEvent();
+        event.begin();
+        var current = subscribers;
+        for (var subscriber : current) {
+            subscriber.run();
+        }
+        event.commit(this, current.length, true);
+    }
+}
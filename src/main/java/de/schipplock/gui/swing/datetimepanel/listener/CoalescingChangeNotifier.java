@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import javax.swing.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Collects bursts of changes and delivers the last valid value once, as configured by {@link ChangeCoalescing}.
+ * <p>
+ * Must be notified on the EDT. Results of superseded values are dropped.
+ *
+ * @param <T> the value type
+ * @param <R> the result type of the task
+ */
+public class CoalescingChangeNotifier<T, R> implements Runnable {
+
+    private final Supplier<T> valueSupplier;
+
+    private final Function<T, R> task;
+
+    private final Consumer<R> resultConsumer;
+
+    private final ChangeCoalescing coalescing;
+
+    private final Timer quietTimer;
+
+    private long firstPendingChange = -1;
+
+    private long generation;
+
+    public CoalescingChangeNotifier(Supplier<T> valueSupplier, Function<T, R> task, Consumer<R> resultConsumer, ChangeCoalescing coalescing) {
+        this.valueSupplier = valueSupplier;
+        this.task = task;
+        this.resultConsumer = resultConsumer;
+        this.coalescing = coalescing;
+        this.quietTimer = new Timer((int) coalescing.quietPeriod().toMillis(), e -> flush());
+        this.quietTimer.setRepeats(false);
+    }
+
+    public static <T> CoalescingChangeNotifier<T, Void> of(Supplier<T> valueSupplier, Consumer<T> consumer, ChangeCoalescing coalescing) {
+        return new CoalescingChangeNotifier<>(valueSupplier, value -> {
+            consumer.accept(value);
+            return null;
+        }, result -> {}, coalescing);
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        if (firstPendingChange < 0) {
+            firstPendingChange = now;
+        }
+        if (now - firstPendingChange >= coalescing.maxLatency().toNanos()) {
+            // flush after the current event, a single edit may consist of several document changes
+            quietTimer.stop();
+            SwingUtilities.invokeLater(this::flush);
+        } else {
+            quietTimer.restart();
+        }
+    }
+
+    private void flush() {
+        if (firstPendingChange < 0) {
+            return;
+        }
+        quietTimer.stop();
+        firstPendingChange = -1;
+        var value = valueSupplier.get();
+        if (value == null) {
+            return;
+        }
+        long current = ++generation;
+        var executor = coalescing.executor();
+        if (executor == null) {
+            resultConsumer.accept(task.apply(value));
+            return;
+        }
+        executor.execute(() -> {
+            var result = task.apply(value);
+            SwingUtilities.invokeLater(() -> {
+                if (current == generation) {
+                    resultConsumer.accept(result);
+                }
+            });
+        });
+    }
+}
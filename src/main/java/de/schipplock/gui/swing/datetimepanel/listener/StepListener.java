@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.function.IntConsumer;
+
+/**
+ * Steps the value of a segment with Up/Down (one unit), PageUp/PageDown (ten units) and the mouse wheel.
+ * <p>
+ * Held keys accelerate with the key repeat. Steps are applied at most once per frame: the first step is
+ * applied right away, further steps within the frame are summed up and applied together, so subscribers
+ * see one change per frame instead of one per event. Each step runs in one
+ * {@link BatchUpdate#coalesce(Runnable)}, so a step that carries into the fields of another panel, e.g. from
+ * the hour into the day, notifies once. The wheel only steps while the component has the focus, otherwise
+ * the event goes to the parent, e.g. a scroll pane.
+ */
+public class StepListener extends KeyAdapter implements MouseWheelListener, ActionListener {
+
+    private static final int FRAME_MILLIS = 16;
+
+    private static final int PAGE = 10;
+
+    private static final long KEY_REPEAT_WINDOW = 150L;
+
+    private static final int REPEATS_PER_ACCELERATION = 8;
+
+    private static final int MAX_ACCELERATION = 10;
+
+    private final IntConsumer stepper;
+
+    private final Timer frameTimer = new Timer(FRAME_MILLIS, this);
+
+    private int pendingAmount;
+
+    private int lastKeyCode;
+
+    private long lastKeyTime;
+
+    private int repeats;
+
+    public StepListener(IntConsumer stepper) {
+        this.stepper = stepper;
+        frameTimer.setRepeats(false);
+    }
+
+    public static void install(JComponent component, IntConsumer stepper) {
+        var listener = new StepListener(stepper);
+        component.addKeyListener(listener);
+        component.addMouseWheelListener(listener);
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        int amount = switch (e.getKeyCode()) {
+            case KeyEvent.VK_UP, KeyEvent.VK_KP_UP -> 1;
+            case KeyEvent.VK_DOWN, KeyEvent.VK_KP_DOWN -> -1;
+            case KeyEvent.VK_PAGE_UP -> PAGE;
+            case KeyEvent.VK_PAGE_DOWN -> -PAGE;
+            default -> 0;
+        };
+        if (amount == 0) {
+            return;
+        }
+        e.consume();
+        if (e.getKeyCode() == lastKeyCode && e.getWhen() - lastKeyTime < KEY_REPEAT_WINDOW) {
+            repeats++;
+        } else {
+            repeats = 0;
+        }
+        lastKeyCode = e.getKeyCode();
+        lastKeyTime = e.getWhen();
+        step(amount * Math.min(1 + repeats / REPEATS_PER_ACCELERATION, MAX_ACCELERATION));
+    }
+
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        var component = e.getComponent();
+        if (!component.isFocusOwner()) {
+            var parent = component.getParent();
+            if (parent != null) {
+                parent.dispatchEvent(SwingUtilities.convertMouseEvent(component, e, parent));
+            }
+            return;
+        }
+        e.consume();
+        step(-e.getWheelRotation());
+    }
+
+    private void step(int amount) {
+        pendingAmount += amount;
+        if (!frameTimer.isRunning()) {
+            flush();
+        }
+    }
+
+    /**
+     * Applies the steps summed up during the last frame.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (pendingAmount != 0) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        int amount = pendingAmount;
+        pendingAmount = 0;
+        frameTimer.restart();
+        if (amount != 0) {
+            BatchUpdate.coalesce(() -> stepper.accept(amount));
+        }
+    }
+}
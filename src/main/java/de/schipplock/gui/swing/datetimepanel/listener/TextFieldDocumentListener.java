@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import de.schipplock.gui.swing.datetimepanel.jfr.ValidationEvent;
+import de.schipplock.gui.swing.datetimepanel.verifier.DigitDocumentFilter;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AbstractDocument;
+
+/**
+ * Verifies a text field whenever its content changes and notifies the change dispatcher afterwards.
+ * <p>
+ * Attribute changes are ignored, they never alter the value of a field. A replacement (e.g. by
+ * {@code setText}) is treated as a single change.
+ */
+public class TextFieldDocumentListener implements DocumentListener {
+
+    protected final JTextField textField;
+
+    protected final InputVerifier inputVerifier;
+
+    protected final Runnable changeNotifier;
+
+    public TextFieldDocumentListener(JTextField textField, InputVerifier inputVerifier, Runnable changeNotifier) {
+        this.textField = textField;
+        this.inputVerifier = inputVerifier;
+        this.changeNotifier = changeNotifier;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        changed();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        if (e.getDocument() instanceof AbstractDocument document
+                && document.getDocumentFilter() instanceof DigitDocumentFilter filter && filter.isReplacing()) {
+            return;
+        }
+        changed();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    protected void changed() {
+        var event = new ValidationEvent();
+        event.begin();
+        boolean valid = inputVerifier.verify(textField);
+        event.commit(textField, valid);
+        changeNotifier.run();
+    }
+}
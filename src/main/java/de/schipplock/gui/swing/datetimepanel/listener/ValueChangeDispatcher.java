@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import de.schipplock.gui.swing.datetimepanel.jfr.ChangeDispatchEvent;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Computes the value of a panel once per change and multicasts a {@link ValueChangeEvent} if it differs
+ * from the previous one.
+ * <p>
+ * The value supplier returns {@code null} for an invalid state. Nothing is computed as long as there are
+ * no listeners, and nothing is dispatched during a {@link BatchUpdate}.
+ *
+ * @param <T> the value type
+ */
+public class ValueChangeDispatcher<T> implements Runnable {
+
+    private final Object source;
+
+    private final Supplier<T> valueSupplier;
+
+    private volatile ValueChangeListener<T>[] listeners = newListenerArray(0);
+
+    private T value;
+
+    public ValueChangeDispatcher(Object source, Supplier<T> valueSupplier) {
+        this.source = source;
+        this.valueSupplier = valueSupplier;
+    }
+
+    public synchronized void add(ValueChangeListener<T> listener) {
+        var current = listeners;
+        if (current.length == 0) {
+            value = valueSupplier.get();
+        }
+        var updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void remove(ValueChangeListener<T> listener) {
+        var current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                ValueChangeListener<T>[] updated = newListenerArray(current.length - 1);
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    public int getListenerCount() {
+        return listeners.length;
+    }
+
+    /**
+     * @return the value as of the last change, {@code null} if it is invalid or nobody listens
+     */
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public void run() {
+        var current = listeners;
+        if (current.length == 0) {
+            return;
+        }
+        if (BatchUpdate.isActive()) {
+            BatchUpdate.defer(this, BatchUpdate.isSilent() ? this::resync : this::dispatch);
+            return;
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        var current = listeners;
+        if (current.length == 0) {
+            return;
+        }
+        var dispatchEvent = new ChangeDispatchEvent();
+        dispatchEvent.begin();
+        var newValue = valueSupplier.get();
+        if (Objects.equals(value, newValue)) {
+            return;
+        }
+        var event = new ValueChangeEvent<>(source, value, newValue, newValue != null);
+        value = newValue;
+        for (var listener : current) {
+            listener.valueChanged(event);
+        }
+        dispatchEvent.commit(this, current.length, newValue != null);
+    }
+
+    /**
+     * Picks up the current value without notifying the listeners.
+     */
+    public void resync() {
+        if (listeners.length > 0) {
+            value = valueSupplier.get();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> ValueChangeListener<T>[] newListenerArray(int length) {
+        return (ValueChangeListener<T>[]) new ValueChangeListener[length];
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+/**
+ * Immutable description of a value change of a panel.
+ *
+ * @param source   the panel whose value changed
+ * @param oldValue the value before the change, {@code null} if it was invalid
+ * @param newValue the value after the change, {@code null} if it is invalid
+ * @param valid    whether the panel holds a valid value after the change
+ * @param <T>      the value type
+ */
+public record ValueChangeEvent<T>(Object source, T oldValue, T newValue, boolean valid) {
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Andreas Schipplock
+ * Copyright 2023 Andreas Schipplock
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,8 @@
  */
 package de.schipplock.gui.swing.datetimepanel.listener;
 
-import javax.swing.*;
-import java.awt.event.KeyAdapter;
+@FunctionalInterface
+public interface ValueChangeListener<T> {
 
-public class TextFieldKeyListener extends KeyAdapter {
-
-    protected final InputVerifier inputVerifier;
-
-    public TextFieldKeyListener(InputVerifier inputVerifier) {
-        this.inputVerifier = inputVerifier;
-    }
+    void valueChanged(ValueChangeEvent<T> event);
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.verifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Verifies a complete value off the EDT, e.g. against a backend calendar.
+ * <p>
+ * A verification that is superseded by a newer value is cancelled; implementations that hold resources
+ * should react to {@link CompletableFuture#cancel(boolean)}. A future that completes exceptionally does
+ * not reject the value.
+ *
+ * @param <T> the value type
+ */
+@FunctionalInterface
+public interface AsyncVerifier<T> {
+
+    CompletableFuture<Boolean> verify(T value);
+
+    /**
+     * Runs a blocking check on a virtual thread per value, which is interrupted when the verification is
+     * cancelled.
+     */
+    static <T> AsyncVerifier<T> blocking(Predicate<? super T> check) {
+        return value -> {
+            var future = new CompletableFuture<Boolean>();
+            var thread = Thread.ofVirtual().name("datetimepanel-verifier").start(() -> {
+                try {
+                    future.complete(check.test(value));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+            future.whenComplete((result, failure) -> {
+                if (future.isCancelled()) {
+                    thread.interrupt();
+                }
+            });
+            return future;
+        };
+    }
+}
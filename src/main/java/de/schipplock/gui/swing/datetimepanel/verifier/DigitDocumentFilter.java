@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.verifier;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DocumentFilter;
+
+/**
+ * Rejects every edit that would put anything but ascii digits into a document or make it longer than
+ * {@code maxLength}.
+ */
+public class DigitDocumentFilter extends DocumentFilter {
+
+    private final int maxLength;
+
+    private boolean replacing;
+
+    public DigitDocumentFilter(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public static DigitDocumentFilter forRange(RangeVerifier verifier) {
+        return new DigitDocumentFilter(String.valueOf(verifier.getMax()).length());
+    }
+
+    @Override
+    public void insertString(FilterBypass fb, int offset, String text, AttributeSet attr) throws BadLocationException {
+        if (isAcceptable(text, fb.getDocument().getLength())) {
+            super.insertString(fb, offset, text, attr);
+        }
+    }
+
+    @Override
+    public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) throws BadLocationException {
+        if (isAcceptable(text, fb.getDocument().getLength() - length)) {
+            replacing = length > 0 && text != null && !text.isEmpty();
+            try {
+                super.replace(fb, offset, length, text, attrs);
+            } finally {
+                replacing = false;
+            }
+        }
+    }
+
+    /**
+     * @return whether a replacement is in progress, the removal it starts with is not a change of its own
+     */
+    public boolean isReplacing() {
+        return replacing;
+    }
+
+    private boolean isAcceptable(String text, int remainingLength) {
+        if (text == null) {
+            return true;
+        }
+        if (remainingLength + text.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
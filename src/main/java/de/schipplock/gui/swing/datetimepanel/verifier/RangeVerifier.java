@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.verifier;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Verifies that a value consists of ascii digits only and lies within {@code [min, max]}.
+ * <p>
+ * The digits are evaluated in place; neither boxing, exceptions nor string copies are involved. Documents are
+ * read through a {@link Segment} that shares the document content instead of copying it.
+ */
+public final class RangeVerifier implements Verifier, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6514937410578120183L;
+
+    public static final int INVALID = -1;
+
+    private final int min;
+
+    private final int max;
+
+    public RangeVerifier(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("invalid range: " + min + ".." + max);
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public boolean verify(String value) {
+        return parse(value) != INVALID;
+    }
+
+    public boolean verify(CharSequence value) {
+        return parse(value) != INVALID;
+    }
+
+    @Override
+    public boolean verify(Document document) {
+        return parse(document) != INVALID;
+    }
+
+    /**
+     * @return the value within the range or {@link #INVALID}
+     */
+    public int parse(CharSequence value) {
+        return value == null ? INVALID : parse(value, 0, value.length());
+    }
+
+    /**
+     * @return the value of the document within the range or {@link #INVALID}
+     */
+    public int parse(Document document) {
+        // a local segment, the verifiers are shared between all panels and threads
+        var segment = new Segment();
+        try {
+            document.getText(0, document.getLength(), segment);
+            return parse(segment, 0, segment.length());
+        } catch (BadLocationException ex) {
+            return INVALID;
+        }
+    }
+
+    private int parse(CharSequence value, int offset, int length) {
+        if (length == 0) {
+            return INVALID;
+        }
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+            if (result > max) {
+                return INVALID;
+            }
+        }
+        return result < min ? INVALID : (int) result;
+    }
+}
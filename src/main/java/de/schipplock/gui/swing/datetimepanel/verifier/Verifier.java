@@ -15,8 +15,19 @@
  */
 package de.schipplock.gui.swing.datetimepanel.verifier;
 
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
 @FunctionalInterface
 public interface Verifier {
 
     boolean verify(String value);
+
+    default boolean verify(Document document) {
+        try {
+            return verify(document.getText(0, document.getLength()));
+        } catch (BadLocationException ex) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.listener.BatchUpdate;
+import de.schipplock.gui.swing.datetimepanel.verifier.AsyncVerifier;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncVerificationTest {
+
+    private static final LocalDateTime first = LocalDateTime.of(2024, 2, 29, 10, 0);
+
+    private static final LocalDateTime second = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    /**
+     * Records every call and returns a future that the test completes itself.
+     */
+    private static final class StubVerifier implements AsyncVerifier<LocalDateTime> {
+
+        private final List<LocalDateTime> values = new ArrayList<>();
+
+        private final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<Boolean> verify(LocalDateTime value) {
+            var future = new CompletableFuture<Boolean>();
+            values.add(value);
+            futures.add(future);
+            return future;
+        }
+    }
+
+    private final StubVerifier verifier = new StubVerifier();
+
+    private final List<Boolean> results = new ArrayList<>();
+
+    private final List<Boolean> onEdt = new ArrayList<>();
+
+    private AsyncVerification<LocalDateTime> verification;
+
+    @Test
+    void cancelsSupersededCheck() throws Exception {
+        onEdt(() -> {
+            verification = newVerification();
+            verification.verify(first);
+            verification.verify(second);
+        });
+
+        assertEquals(List.of(first, second), verifier.values);
+        assertTrue(verifier.futures.get(0).isCancelled());
+        assertFalse(verifier.futures.get(1).isCancelled());
+
+        verifier.futures.get(1).complete(false);
+        onEdt(() -> assertFalse(verification.isPending()));
+        assertEquals(List.of(false), results);
+        assertEquals(List.of(true), onEdt);
+    }
+
+    @Test
+    void answersRecentValuesFromTheCache() throws Exception {
+        onEdt(() -> {
+            verification = newVerification();
+            verification.verify(first);
+        });
+        verifier.futures.get(0).complete(false);
+        onEdt(() -> verification.verify(second));
+        verifier.futures.get(1).complete(true);
+        onEdt(() -> verification.verify(first));
+
+        assertEquals(2, verifier.values.size());
+        assertEquals(Boolean.FALSE, verification.getCached(first));
+        assertEquals(List.of(false, true, false), results);
+    }
+
+    @Test
+    void liftsTheRejectionWhileTheNextValueIsVerified() throws Exception {
+        onEdt(() -> {
+            verification = newVerification();
+            verification.verify(first);
+        });
+        verifier.futures.get(0).complete(false);
+        onEdt(() -> {
+            verification.verify(second);
+            assertTrue(verification.isPending());
+        });
+
+        assertEquals(List.of(false, true), results);
+        assertEquals(List.of(true, true), onEdt);
+    }
+
+    @Test
+    void marksRejectedPanelOnTheEdt() throws Exception {
+        var panel = new DateTimePanel[1];
+        onEdt(() -> {
+            panel[0] = new DateTimePanel(first);
+            panel[0].setAsyncVerifier(verifier);
+        });
+        verifier.futures.get(0).complete(false);
+
+        onEdt(() -> {
+            assertSame(DateTimePanel.INVALID_REJECTED, panel[0].validateDateTime());
+            assertTrue(panel[0].saveState().isInvalid(Segment.DAY));
+            assertTrue(panel[0].saveState().isInvalid(Segment.HOUR));
+
+            panel[0].setLocalDateTime(second);
+            assertTrue(panel[0].isVerificationPending());
+            assertFalse(panel[0].saveState().isInvalid(Segment.DAY));
+        });
+        verifier.futures.get(1).complete(true);
+
+        onEdt(() -> {
+            assertFalse(panel[0].isVerificationPending());
+            assertTrue(panel[0].validateDateTime().isValid());
+            assertEquals(0, panel[0].saveState().getInvalidFields());
+        });
+    }
+
+    @Test
+    void verifiesOnceAtTheEndOfABatch() throws Exception {
+        onEdt(() -> {
+            var panel = new DateTimePanel(first);
+            panel.setAsyncVerifier(verifier);
+            BatchUpdate.run(() -> {
+                panel.setLocalDateTime(second);
+                panel.setLocalDateTime(first.plusDays(2));
+            });
+        });
+
+        assertEquals(List.of(first, first.plusDays(2)), verifier.values);
+        assertTrue(verifier.futures.get(0).isCancelled());
+    }
+
+    private AsyncVerification<LocalDateTime> newVerification() {
+        return new AsyncVerification<>(verifier, AsyncVerification.DEFAULT_CACHE_SIZE, accepted -> {
+            results.add(accepted);
+            onEdt.add(SwingUtilities.isEventDispatchThread());
+        });
+    }
+
+    /**
+     * Runs {@code runnable} on the EDT after the outcomes posted so far have been handed over.
+     */
+    private static void onEdt(Runnable runnable) throws Exception {
+        SwingUtilities.invokeAndWait(runnable);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
+import de.schipplock.gui.swing.datetimepanel.listener.ValueChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateTimeFieldTest {
+
+    private static final LocalDateTime value = LocalDateTime.of(2024, 2, 10, 10, 59);
+
+    private DateTimeField field;
+
+    @Test
+    void showsTheGivenValue() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            assertEquals(value, field.getLocalDateTime());
+
+            field.setLocalDateTime(value.plusYears(1));
+            assertEquals(value.plusYears(1), field.getLocalDateTime());
+        });
+    }
+
+    @Test
+    void notifiesEffectiveChangesOnce() throws Exception {
+        var events = new ArrayList<ValueChangeEvent<LocalDateTime>>();
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            field.addValueChangeListener(events::add);
+
+            field.setLocalDateTime(value);
+            field.setLocalDateTime(value.plusDays(1));
+        });
+
+        assertEquals(List.of(new ValueChangeEvent<>(field, value, value.plusDays(1), true)), events);
+    }
+
+    @Test
+    void acceptsAsManyYearDigitsAsTheVerifier() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            select(Segment.YEAR);
+            type("12345");
+
+            assertEquals(12345, field.getLocalDateTime().getYear());
+            assertSame(Segment.YEAR, field.getSelectedSegment());
+        });
+    }
+
+    @Test
+    void advancesOnceNoFurtherDigitFits() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            select(Segment.MONTH);
+            type("3");
+
+            assertEquals(3, field.getLocalDateTime().getMonthValue());
+            assertNotEquals(Segment.MONTH, field.getSelectedSegment());
+        });
+    }
+
+    @Test
+    void rejectsADayThatDoesNotExistInTheMonth() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            select(Segment.DAY);
+            type("30");
+
+            assertFalse(field.isValidDateTime());
+            assertSame(DateTimeModel.INVALID_DAY_OF_MONTH, field.validateDateTime());
+            assertThrows(InvalidDateValuesException.class, field::getLocalDateTime);
+
+            select(Segment.DAY);
+            press(KeyEvent.VK_BACK_SPACE);
+            assertEquals(3, field.getLocalDateTime().getDayOfMonth());
+        });
+    }
+
+    @Test
+    void stepsWithCarry() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            field = new DateTimeField(value);
+            select(Segment.MINUTE);
+            press(KeyEvent.VK_UP);
+
+            assertEquals(value.plusMinutes(1), field.getLocalDateTime());
+            assertTrue(field.isValidDateTime());
+        });
+    }
+
+    private void select(Segment segment) {
+        press(KeyEvent.VK_HOME);
+        while (field.getSelectedSegment() != segment) {
+            press(KeyEvent.VK_RIGHT);
+        }
+    }
+
+    private void press(int keyCode) {
+        var event = new KeyEvent(field, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+        for (var listener : field.getKeyListeners()) {
+            listener.keyPressed(event);
+        }
+    }
+
+    private void type(String digits) {
+        for (var c : digits.toCharArray()) {
+            var event = new KeyEvent(field, KeyEvent.KEY_TYPED, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, c);
+            for (var listener : field.getKeyListeners()) {
+                listener.keyTyped(event);
+            }
+        }
+    }
+}
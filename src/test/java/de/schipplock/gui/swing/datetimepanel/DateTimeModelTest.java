@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateTimeModelTest {
+
+    @Test
+    void validatesSegments() {
+        assertTrue(DateTimeModel.validate(2023, 12, 31, 23, 59).isValid());
+        assertSame(DateTimeModel.INVALID_DAY, DateTimeModel.validate(2023, 1, 0, 0, 0));
+        assertSame(DateTimeModel.INVALID_MONTH, DateTimeModel.validate(2023, 13, 1, 0, 0));
+        assertSame(DateTimeModel.INVALID_YEAR, DateTimeModel.validate(DateTimeModel.INVALID, 1, 1, 0, 0));
+        assertSame(DateTimeModel.INVALID_HOUR, DateTimeModel.validate(2023, 1, 1, 24, 0));
+        assertSame(DateTimeModel.INVALID_MINUTE, DateTimeModel.validate(2023, 1, 1, 0, 60));
+        assertSame(DateTimeModel.INVALID_SECOND, DateTimeModel.validateTime(0, 0, 60, 0));
+        assertSame(DateTimeModel.INVALID_NANO, DateTimeModel.validateTime(0, 0, 0, 1_000_000_000));
+    }
+
+    @Test
+    void validatesDayOfMonthInLeapYears() {
+        assertTrue(DateTimeModel.validateDate(2024, 2, 29).isValid());
+        assertTrue(DateTimeModel.validateDate(2000, 2, 29).isValid());
+        assertSame(DateTimeModel.INVALID_DAY_OF_MONTH, DateTimeModel.validateDate(2023, 2, 29));
+        assertSame(DateTimeModel.INVALID_DAY_OF_MONTH, DateTimeModel.validateDate(2100, 2, 29));
+        assertSame(DateTimeModel.INVALID_DAY_OF_MONTH, DateTimeModel.validateDate(2023, 4, 31));
+    }
+
+    @Test
+    void validatesBounds() {
+        var model = new DateTimeModel(LocalDateTime.of(2023, 6, 15, 12, 0),
+                LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59));
+        assertTrue(model.validate().isValid());
+        model.setDate(2022, 12, 31);
+        assertSame(DateTimeModel.INVALID_BEFORE_MIN, model.validate());
+        model.setDate(2024, 1, 1);
+        assertSame(DateTimeModel.INVALID_AFTER_MAX, model.validate());
+        model.setDate(2023, 2, 30);
+        assertSame(DateTimeModel.INVALID_DAY_OF_MONTH, model.validate());
+    }
+
+    @Test
+    void defaultBoundsStartInMinYear() {
+        var model = new DateTimeModel(LocalDateTime.of(DateTimeModel.MIN_YEAR - 1, 12, 31, 0, 0));
+        assertSame(DateTimeModel.INVALID_BEFORE_MIN, model.validate());
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new DateTimeModel(LocalDateTime.of(2023, 1, 1, 0, 0),
+                LocalDateTime.of(2023, 12, 31, 0, 0), LocalDateTime.of(2023, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void stepCarriesIntoLargerSegments() {
+        var model = new DateTimeModel(LocalDateTime.of(2023, 12, 31, 23, 59));
+        model.step(Segment.MINUTE, 1);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), model.getSnapshot().toLocalDateTime());
+        model.step(Segment.HOUR, -1);
+        assertEquals(LocalDateTime.of(2023, 12, 31, 23, 0), model.getSnapshot().toLocalDateTime());
+    }
+
+    @Test
+    void stepClampsToLastDayOfMonth() {
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), DateTimeModel.step(LocalDateTime.of(2024, 1, 31, 0, 0), Segment.MONTH, 1));
+        assertEquals(LocalDateTime.of(2023, 2, 28, 0, 0), DateTimeModel.step(LocalDateTime.of(2023, 1, 31, 0, 0), Segment.MONTH, 1));
+        assertEquals(LocalDateTime.of(2025, 2, 28, 0, 0), DateTimeModel.step(LocalDateTime.of(2024, 2, 29, 0, 0), Segment.YEAR, 1));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), DateTimeModel.step(LocalDateTime.of(2024, 2, 28, 0, 0), Segment.DAY, 1));
+        assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0), DateTimeModel.step(LocalDateTime.of(2023, 2, 28, 0, 0), Segment.DAY, 1));
+    }
+
+    @Test
+    void stepTogglesAmPmWithinTheDay() {
+        assertEquals(LocalDateTime.of(2023, 1, 1, 11, 30), DateTimeModel.step(LocalDateTime.of(2023, 1, 1, 23, 30), Segment.AMPM, 1));
+        assertEquals(LocalDateTime.of(2023, 1, 1, 12, 30), DateTimeModel.step(LocalDateTime.of(2023, 1, 1, 0, 30), Segment.AMPM, -1));
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 30), DateTimeModel.step(LocalDateTime.of(2023, 1, 1, 0, 30), Segment.AMPM, 2));
+    }
+
+    @Test
+    void stepBeyondLocalDateTimeIsIgnored() {
+        assertEquals(LocalDateTime.MAX, DateTimeModel.step(LocalDateTime.MAX, Segment.MINUTE, 1));
+        assertEquals(LocalDateTime.MAX, DateTimeModel.step(LocalDateTime.MAX, Segment.YEAR, 1));
+    }
+
+    @Test
+    void stepBeyondBoundsIsIgnored() {
+        var max = LocalDateTime.of(2023, 12, 31, 23, 59);
+        var model = new DateTimeModel(max, DateTimeModel.DEFAULT_MIN, max);
+        model.step(Segment.MINUTE, 1);
+        assertEquals(max, model.getSnapshot().toLocalDateTime());
+    }
+
+    @Test
+    void stepOfInvalidSnapshotWrapsTheSegment() {
+        var model = new DateTimeModel(LocalDateTime.of(2023, 2, 1, 10, 0));
+        model.setDate(2023, 2, DateTimeModel.INVALID);
+        model.step(Segment.DAY, 1);
+        assertEquals(1, model.getSnapshot().day());
+        model.setDate(2023, 2, DateTimeModel.INVALID);
+        model.step(Segment.DAY, -1);
+        assertEquals(28, model.getSnapshot().day());
+        model.setDate(2024, 2, DateTimeModel.INVALID);
+        model.step(Segment.DAY, -1);
+        assertEquals(29, model.getSnapshot().day());
+        model.setTime(DateTimeModel.INVALID, 0);
+        model.step(Segment.HOUR, -1);
+        assertEquals(23, model.getSnapshot().hour());
+    }
+}
@@ -45,21 +45,21 @@ public class DateTimePanelDemo extends JFrame {
         var datePanel = new DatePanel();
         var timePanel = new TimePanel();
 
-        dateTimePanel.onChange(() -> {
-            if (dateTimePanel.isValidDateTime()) {
-                System.out.println("datetime value has changed to: " + dateTimePanel.getLocalDateTime().toString());
+        dateTimePanel.addValueChangeListener(event -> {
+            if (event.valid()) {
+                System.out.println("datetime value has changed to: " + event.newValue());
             }
         });
 
-        datePanel.onChange(() -> {
-            if(datePanel.isValidDate()) {
-                System.out.println("date value has changed to: " + datePanel.getLocalDate().toString());
+        datePanel.addValueChangeListener(event -> {
+            if (event.valid()) {
+                System.out.println("date value has changed to: " + event.newValue());
             }
         });
 
-        timePanel.onChange(() -> {
-            if (timePanel.isValidTime()) {
-                System.out.println("time value has changed to: " + timePanel.getLocalTime().toString());
+        timePanel.addValueChangeListener(event -> {
+            if (event.valid()) {
+                System.out.println("time value has changed to: " + event.newValue());
             }
         });
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import de.schipplock.gui.swing.datetimepanel.exceptions.InvalidDateValuesException;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateTimeRangePanelTest {
+
+    private static final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private static final LocalDateTime end = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    private DateTimeRangePanel panel;
+
+    @Test
+    void acceptsAnOrderedRange() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new DateTimeRangePanel(start, end);
+
+            assertTrue(panel.isRangeValid());
+            assertSame(ValidationResult.VALID, panel.validateRange());
+            assertFalse(isMarked(panel.getStartPanel()));
+            assertFalse(isMarked(panel.getEndPanel()));
+        });
+    }
+
+    @Test
+    void marksTheSideThatWasChangedLast() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new DateTimeRangePanel(start, end);
+
+            panel.getStartPanel().setLocalDateTime(end.plusDays(1));
+            assertFalse(panel.isRangeValid());
+            assertSame(DateTimeRangePanel.INVALID_RANGE, panel.validateRange());
+            assertTrue(isMarked(panel.getStartPanel()));
+            assertFalse(isMarked(panel.getEndPanel()));
+
+            panel.getEndPanel().setLocalDateTime(end.plusDays(2));
+            assertTrue(panel.isRangeValid());
+            assertFalse(isMarked(panel.getStartPanel()));
+            assertFalse(isMarked(panel.getEndPanel()));
+        });
+    }
+
+    @Test
+    void setsARangeWithOneNotification() throws Exception {
+        int[] notifications = new int[1];
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new DateTimeRangePanel(start, end);
+            panel.onChange(() -> notifications[0]++);
+
+            // the new start lies after the old end
+            panel.setRange(start.plusMonths(2), end.plusMonths(2));
+
+            assertEquals(start.plusMonths(2), panel.getStart());
+            assertEquals(end.plusMonths(2), panel.getEnd());
+            assertTrue(panel.isRangeValid());
+            assertFalse(isMarked(panel.getStartPanel()));
+        });
+
+        assertEquals(1, notifications[0]);
+    }
+
+    @Test
+    void rejectsAStartAfterTheEnd() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new DateTimeRangePanel(start, end);
+
+            assertThrows(InvalidDateValuesException.class, () -> panel.setRange(end, start));
+            assertEquals(start, panel.getStart());
+        });
+    }
+
+    @Test
+    void followsModelChangesOfOtherThreads() throws Exception {
+        SwingUtilities.invokeAndWait(() -> panel = new DateTimeRangePanel(start, end));
+
+        panel.getEndPanel().getModel().setLocalDateTime(start.minusDays(1));
+        assertFalse(panel.isRangeValid());
+
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(isMarked(panel.getEndPanel()));
+            assertFalse(isMarked(panel.getStartPanel()));
+        });
+    }
+
+    /**
+     * @return whether the fields of {@code side} are shown red
+     */
+    private static boolean isMarked(Container side) {
+        for (var component : side.getComponents()) {
+            if (component instanceof JTextField textField ? Color.RED.equals(textField.getForeground())
+                    : component instanceof Container container && isMarked(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LayoutPlanTest {
+
+    @Test
+    void parsesLocalizedDatePatterns() {
+        assertEquals("mdy", LayoutPlan.localizedDateFields(Locale.US));
+        assertEquals("dmy", LayoutPlan.localizedDateFields(Locale.GERMANY));
+        assertEquals("dmy", LayoutPlan.localizedDateFields(Locale.UK));
+        assertEquals("ymd", LayoutPlan.localizedDateFields(Locale.JAPAN));
+        assertEquals("ymd", LayoutPlan.localizedDateFields(Locale.CHINA));
+        assertEquals("ymd", LayoutPlan.localizedDateFields(Locale.forLanguageTag("sv-SE")));
+    }
+
+    @Test
+    void skipsQuotedLiterals() {
+        // Bulgarian short dates end with a quoted "г." for the year
+        assertEquals("dmy", LayoutPlan.localizedDateFields(Locale.forLanguageTag("bg-BG")));
+    }
+
+    @Test
+    void ordersDateSegmentsByBundle() {
+        assertEquals(List.of(Segment.DAY, Segment.MONTH, Segment.YEAR), LayoutPlan.date(Messages.get(Locale.GERMANY)).segments());
+    }
+
+    @Test
+    void keepsTheGivenSegmentOrder() {
+        var segments = List.of(Segment.HOUR, Segment.MINUTE, Segment.SECOND);
+        assertEquals(segments, LayoutPlan.of(segments, Messages.get(Locale.GERMANY)).segments());
+    }
+}
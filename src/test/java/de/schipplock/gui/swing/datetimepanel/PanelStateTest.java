@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PanelStateTest {
+
+    @Test
+    void roundTripsAllParts() throws IOException {
+        var texts = PanelState.newTexts();
+        texts[Segment.DAY.ordinal()] = "31";
+        texts[Segment.MONTH.ordinal()] = "2";
+        texts[Segment.YEAR.ordinal()] = "2024";
+        var state = new PanelState(LocalDate.of(2024, 2, 29), LocalTime.of(23, 59, 58, 999_000_000),
+                ZoneId.of("Europe/Berlin"), texts, Segment.DAY.mask());
+
+        var decoded = decode(encode(state));
+
+        assertEquals(state, decoded);
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 58, 999_000_000), decoded.getLocalDateTime());
+        assertEquals(ZoneId.of("Europe/Berlin"), decoded.getZone());
+        assertEquals("31", decoded.getText(Segment.DAY));
+        assertNull(decoded.getText(Segment.HOUR));
+        assertTrue(decoded.isInvalid(Segment.DAY));
+        assertFalse(decoded.isInvalid(Segment.MONTH));
+    }
+
+    @Test
+    void roundTripsAbsentParts() throws IOException {
+        var state = new PanelState(null, null, null, PanelState.newTexts(), 0);
+
+        var decoded = decode(encode(state));
+
+        assertEquals(state, decoded);
+        assertNull(decoded.getLocalDate());
+        assertNull(decoded.getLocalTime());
+        assertNull(decoded.getZone());
+    }
+
+    @Test
+    void roundTripsManyStates() throws IOException {
+        var states = List.of(
+                new PanelState(LocalDate.of(2023, 1, 1), null, null, PanelState.newTexts(), 0),
+                new PanelState(null, LocalTime.NOON, ZoneId.of("UTC"), PanelState.newTexts(), Segment.HOUR.mask()));
+        var bytes = new ByteArrayOutputStream();
+        PanelState.writeAll(new DataOutputStream(bytes), states);
+
+        assertEquals(states, PanelState.readAll(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    void roundTripsJavaSerialization() throws IOException, ClassNotFoundException {
+        var state = new PanelState(LocalDate.of(2023, 7, 1), LocalTime.of(8, 15), null, PanelState.newTexts(), 0);
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(state, in.readObject());
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        assertThrows(StreamCorruptedException.class, () -> decode(new byte[]{Byte.MAX_VALUE}));
+    }
+
+    @Test
+    void restoresPanel() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            var source = new DateTimePanel(LocalDateTime.of(2024, 2, 29, 13, 45));
+            var target = new DateTimePanel(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+            target.restoreState(source.saveState());
+
+            assertEquals(LocalDateTime.of(2024, 2, 29, 13, 45), target.getLocalDateTime());
+            assertEquals(source.saveState(), target.saveState());
+        });
+    }
+
+    private static byte[] encode(PanelState state) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        state.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static PanelState decode(byte[] bytes) throws IOException {
+        return PanelState.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
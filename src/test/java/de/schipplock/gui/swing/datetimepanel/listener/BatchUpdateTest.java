@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchUpdateTest {
+
+    private int notifications;
+
+    private final Runnable notifier = BatchUpdate.batched(() -> notifications++);
+
+    @Test
+    void runSuppressesNotifications() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            BatchUpdate.run(() -> {
+                notifier.run();
+                notifier.run();
+            });
+            assertEquals(0, notifications);
+            assertFalse(BatchUpdate.isActive());
+        });
+    }
+
+    @Test
+    void coalesceNotifiesOnceAfterwards() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            BatchUpdate.coalesce(() -> {
+                notifier.run();
+                notifier.run();
+                notifier.run();
+                assertEquals(0, notifications);
+            });
+            assertEquals(1, notifications);
+        });
+    }
+
+    @Test
+    void outermostBatchDecides() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            BatchUpdate.run(() -> BatchUpdate.coalesce(notifier));
+            assertEquals(0, notifications);
+
+            BatchUpdate.coalesce(() -> BatchUpdate.run(notifier));
+            assertEquals(1, notifications);
+        });
+    }
+
+    @Test
+    void deferReplacesEarlierActionOfTheSameKey() throws Exception {
+        var actions = new ArrayList<String>();
+        var key = new Object();
+        SwingUtilities.invokeAndWait(() -> BatchUpdate.coalesce(() -> {
+            BatchUpdate.defer(key, () -> actions.add("first"));
+            BatchUpdate.defer(key, () -> actions.add("second"));
+            BatchUpdate.defer(new Object(), () -> actions.add("other"));
+        }));
+        assertEquals(List.of("second", "other"), actions);
+    }
+
+    @Test
+    void runsActionsDeferredWhileFlushing() throws Exception {
+        var actions = new ArrayList<String>();
+        SwingUtilities.invokeAndWait(() -> BatchUpdate.coalesce(() -> BatchUpdate.defer("outer", () -> {
+            actions.add("outer");
+            BatchUpdate.defer("inner", () -> actions.add("inner"));
+        })));
+        assertEquals(List.of("outer", "inner"), actions);
+    }
+
+    @Test
+    void revalidatesTouchedComponentsOnce() throws Exception {
+        var component = new JPanel() {
+
+            int revalidations;
+
+            @Override
+            public void revalidate() {
+                revalidations++;
+            }
+        };
+        SwingUtilities.invokeAndWait(() -> {
+            component.revalidations = 0;
+            BatchUpdate.run(() -> {
+                BatchUpdate.touch(component);
+                BatchUpdate.touch(component);
+                assertEquals(0, component.revalidations);
+            });
+            assertEquals(1, component.revalidations);
+        });
+    }
+
+    @Test
+    void runsPlainUpdatesOffTheEdt() {
+        var ran = new boolean[1];
+        BatchUpdate.run(() -> {
+            ran[0] = true;
+            assertFalse(BatchUpdate.isActive());
+            notifier.run();
+        });
+        assertTrue(ran[0]);
+        assertEquals(1, notifications);
+    }
+}
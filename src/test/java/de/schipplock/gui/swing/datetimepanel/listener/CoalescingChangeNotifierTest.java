@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingChangeNotifierTest {
+
+    private Integer value;
+
+    private final List<Integer> delivered = new ArrayList<>();
+
+    @Test
+    void deliversTheLastValueOfABurstOnce() throws Exception {
+        var latch = new CountDownLatch(1);
+        var notifier = CoalescingChangeNotifier.<Integer>of(() -> value, delivered -> {
+            this.delivered.add(delivered);
+            latch.countDown();
+        }, ChangeCoalescing.of(Duration.ofMillis(50), Duration.ofSeconds(10)));
+
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 1; i <= 3; i++) {
+                value = i;
+                notifier.run();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(150);
+        SwingUtilities.invokeAndWait(() -> assertEquals(List.of(3), delivered));
+    }
+
+    @Test
+    void flushesOnceAfterTheEventThatReachedTheMaxLatency() throws Exception {
+        var notifier = CoalescingChangeNotifier.<Integer>of(() -> value, delivered::add, ChangeCoalescing.of(Duration.ZERO, Duration.ZERO));
+
+        SwingUtilities.invokeAndWait(() -> {
+            value = 1;
+            notifier.run();
+            value = 2;
+            notifier.run();
+            assertEquals(List.of(), delivered);
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(2), delivered);
+    }
+
+    @Test
+    void skipsNullValues() throws Exception {
+        var notifier = CoalescingChangeNotifier.<Integer>of(() -> value, delivered::add, ChangeCoalescing.of(Duration.ZERO, Duration.ZERO));
+
+        SwingUtilities.invokeAndWait(notifier);
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(), delivered);
+    }
+
+    @Test
+    void dropsResultsOfSupersededValues() throws Exception {
+        var tasks = new ArrayList<Runnable>();
+        var coalescing = ChangeCoalescing.of(Duration.ZERO, Duration.ZERO).onExecutor(tasks::add);
+        var notifier = new CoalescingChangeNotifier<Integer, String>(() -> value, String::valueOf, result -> delivered.add(Integer.valueOf(result)), coalescing);
+
+        for (int i = 1; i <= 2; i++) {
+            int next = i;
+            SwingUtilities.invokeAndWait(() -> {
+                value = next;
+                notifier.run();
+            });
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+        assertEquals(2, tasks.size());
+
+        // the task of the first value completes last
+        tasks.get(1).run();
+        tasks.get(0).run();
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(2), delivered);
+    }
+
+    @Test
+    void rejectsAMaxLatencyShorterThanTheQuietPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> ChangeCoalescing.of(Duration.ofSeconds(1), Duration.ofMillis(10)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StepListenerTest {
+
+    private final JTextField textField = new JTextField();
+
+    private final List<Integer> steps = new ArrayList<>();
+
+    private final List<Boolean> batched = new ArrayList<>();
+
+    private final StepListener listener = new StepListener(amount -> {
+        steps.add(amount);
+        batched.add(BatchUpdate.isActive());
+    });
+
+    @Test
+    void appliesTheFirstStepRightAwayAndSumsUpTheRestOfTheFrame() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            press(KeyEvent.VK_UP, 0);
+            press(KeyEvent.VK_UP, 1000);
+            press(KeyEvent.VK_KP_UP, 2000);
+            assertEquals(List.of(1), steps);
+        });
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> assertEquals(List.of(1, 2), steps));
+        assertEquals(List.of(true, true), batched);
+    }
+
+    @Test
+    void stepsTenUnitsWithPageKeys() throws Exception {
+        SwingUtilities.invokeAndWait(() -> assertTrue(press(KeyEvent.VK_PAGE_DOWN, 0).isConsumed()));
+
+        assertEquals(List.of(-10), steps);
+    }
+
+    @Test
+    void acceleratesAHeldKey() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            // the ninth press is the eighth repeat, which steps two units
+            for (int i = 0; i < 9; i++) {
+                press(KeyEvent.VK_DOWN, i * 30L);
+            }
+        });
+        Thread.sleep(100);
+
+        SwingUtilities.invokeAndWait(() -> assertEquals(List.of(-1, -9), steps));
+    }
+
+    @Test
+    void ignoresOtherKeys() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            var event = press(KeyEvent.VK_A, 0);
+            assertFalse(event.isConsumed());
+        });
+
+        assertEquals(List.of(), steps);
+    }
+
+    @Test
+    void passesTheWheelToTheParentWithoutFocus() throws Exception {
+        var parentRotations = new ArrayList<Integer>();
+        SwingUtilities.invokeAndWait(() -> {
+            var parent = new JPanel();
+            parent.add(textField);
+            parent.addMouseWheelListener(e -> parentRotations.add(e.getWheelRotation()));
+            var event = new MouseWheelEvent(textField, MouseWheelEvent.MOUSE_WHEEL, 0, 0, 0, 0, 0, false,
+                    MouseWheelEvent.WHEEL_UNIT_SCROLL, 1, -1);
+            listener.mouseWheelMoved(event);
+            assertFalse(event.isConsumed());
+        });
+
+        assertEquals(List.of(), steps);
+        assertEquals(List.of(-1), parentRotations);
+    }
+
+    private KeyEvent press(int keyCode, long when) {
+        var event = new KeyEvent(textField, KeyEvent.KEY_PRESSED, when, 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+        listener.keyPressed(event);
+        return event;
+    }
+}
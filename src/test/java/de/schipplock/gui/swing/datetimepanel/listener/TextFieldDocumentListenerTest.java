@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import de.schipplock.gui.swing.datetimepanel.verifier.DigitDocumentFilter;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.text.AbstractDocument;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextFieldDocumentListenerTest {
+
+    private final JTextField textField = new JTextField();
+
+    private final List<String> verified = new ArrayList<>();
+
+    private int notifications;
+
+    private final InputVerifier inputVerifier = new InputVerifier() {
+
+        @Override
+        public boolean verify(JComponent input) {
+            verified.add(((JTextField) input).getText());
+            return true;
+        }
+    };
+
+    private final TextFieldDocumentListener listener = new TextFieldDocumentListener(textField, inputVerifier, () -> notifications++);
+
+    TextFieldDocumentListenerTest() {
+        textField.getDocument().addDocumentListener(listener);
+    }
+
+    @Test
+    void verifiesAndNotifiesEveryEdit() throws Exception {
+        textField.getDocument().insertString(0, "1", null);
+        textField.getDocument().insertString(1, "2", null);
+        textField.getDocument().remove(1, 1);
+
+        assertEquals(List.of("1", "12", "1"), verified);
+        assertEquals(3, notifications);
+    }
+
+    @Test
+    void treatsAFilteredReplacementAsASingleChange() {
+        ((AbstractDocument) textField.getDocument()).setDocumentFilter(new DigitDocumentFilter(2));
+        textField.setText("12");
+        textField.setText("34");
+
+        assertEquals(List.of("12", "34"), verified);
+        assertEquals(2, notifications);
+    }
+
+    @Test
+    void ignoresAttributeChanges() {
+        listener.changedUpdate(null);
+
+        assertEquals(List.of(), verified);
+        assertEquals(0, notifications);
+    }
+}
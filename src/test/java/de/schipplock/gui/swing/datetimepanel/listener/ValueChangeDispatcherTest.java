@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.listener;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ValueChangeDispatcherTest {
+
+    private Integer value = 1;
+
+    private int computations;
+
+    private final ValueChangeDispatcher<Integer> dispatcher = new ValueChangeDispatcher<>(this, () -> {
+        computations++;
+        return value;
+    });
+
+    private final List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+
+    @Test
+    void dispatchesOnlyEffectiveChanges() {
+        dispatcher.add(events::add);
+
+        dispatcher.run();
+        value = 2;
+        dispatcher.run();
+
+        assertEquals(List.of(new ValueChangeEvent<>(this, 1, 2, true)), events);
+    }
+
+    @Test
+    void reportsAnInvalidValueAsNull() {
+        dispatcher.add(events::add);
+
+        value = null;
+        dispatcher.run();
+        value = 3;
+        dispatcher.run();
+
+        assertEquals(List.of(new ValueChangeEvent<>(this, 1, null, false), new ValueChangeEvent<>(this, null, 3, true)), events);
+    }
+
+    @Test
+    void computesNothingWithoutListeners() {
+        dispatcher.run();
+        dispatcher.resync();
+
+        assertEquals(0, computations);
+    }
+
+    @Test
+    void notifiesEveryListenerUntilItIsRemoved() {
+        var other = new ArrayList<ValueChangeEvent<Integer>>();
+        ValueChangeListener<Integer> listener = events::add;
+        dispatcher.add(listener);
+        dispatcher.add(other::add);
+
+        value = 2;
+        dispatcher.run();
+        dispatcher.remove(listener);
+        value = 3;
+        dispatcher.run();
+
+        assertEquals(1, events.size());
+        assertEquals(2, other.size());
+        assertEquals(1, dispatcher.getListenerCount());
+    }
+
+    @Test
+    void dispatchesTheFinalValueOfACoalescedBatchOnce() throws Exception {
+        dispatcher.add(events::add);
+
+        SwingUtilities.invokeAndWait(() -> BatchUpdate.coalesce(() -> {
+            value = 2;
+            dispatcher.run();
+            value = 3;
+            dispatcher.run();
+        }));
+
+        assertEquals(List.of(new ValueChangeEvent<>(this, 1, 3, true)), events);
+    }
+
+    @Test
+    void picksUpTheValueOfASilentBatchWithoutDispatching() throws Exception {
+        dispatcher.add(events::add);
+
+        SwingUtilities.invokeAndWait(() -> BatchUpdate.run(() -> {
+            value = 2;
+            dispatcher.run();
+        }));
+        dispatcher.run();
+
+        assertEquals(List.of(), events);
+        assertEquals(Integer.valueOf(2), dispatcher.getValue());
+    }
+}
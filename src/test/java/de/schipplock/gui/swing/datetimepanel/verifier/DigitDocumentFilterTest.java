@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.PlainDocument;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DigitDocumentFilterTest {
+
+    private final PlainDocument document = new PlainDocument();
+
+    private final DigitDocumentFilter filter = new DigitDocumentFilter(2);
+
+    DigitDocumentFilterTest() {
+        document.setDocumentFilter(filter);
+    }
+
+    @Test
+    void acceptsDigitsUpToTheMaxLength() throws Exception {
+        document.insertString(0, "1", null);
+        document.insertString(1, "23", null);
+        document.insertString(1, "2", null);
+        document.insertString(2, "3", null);
+
+        assertEquals("12", text());
+    }
+
+    @Test
+    void rejectsAnythingButAsciiDigits() throws Exception {
+        document.insertString(0, "1a", null);
+        document.insertString(0, " ", null);
+        document.insertString(0, "\u0661", null);
+        document.replace(0, 0, "-", null);
+
+        assertEquals("", text());
+    }
+
+    @Test
+    void replacesAFullDocument() throws Exception {
+        document.insertString(0, "12", null);
+        document.replace(0, 2, "34", null);
+        document.replace(0, 2, "567", null);
+
+        assertEquals("34", text());
+    }
+
+    @Test
+    void derivesTheMaxLengthFromTheRange() throws Exception {
+        var document = new PlainDocument();
+        document.setDocumentFilter(DigitDocumentFilter.forRange(new RangeVerifier(0, 999)));
+        document.insertString(0, "1234", null);
+        document.insertString(0, "123", null);
+
+        assertEquals("123", document.getText(0, document.getLength()));
+    }
+
+    @Test
+    void reportsTheRemovalOfAReplacement() throws Exception {
+        var replacing = new ArrayList<Boolean>();
+        document.insertString(0, "12", null);
+        document.addDocumentListener(new DocumentListener() {
+
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                replacing.add(filter.isReplacing());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        document.replace(0, 2, "34", null);
+        document.remove(0, 1);
+
+        assertEquals(2, replacing.size());
+        assertTrue(replacing.get(0));
+        assertFalse(replacing.get(1));
+        assertFalse(filter.isReplacing());
+    }
+
+    private String text() throws Exception {
+        return document.getText(0, document.getLength());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Andreas Schipplock
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.schipplock.gui.swing.datetimepanel.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RangeVerifierTest {
+
+    private final RangeVerifier verifier = new RangeVerifier(2000, 9999);
+
+    @Test
+    void acceptsValuesWithinRange() {
+        assertEquals(2000, verifier.parse("2000"));
+        assertEquals(2023, verifier.parse("2023"));
+        assertEquals(9999, verifier.parse("9999"));
+        assertEquals(2023, verifier.parse("02023"));
+        assertTrue(verifier.verify("2023"));
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertEquals(RangeVerifier.INVALID, verifier.parse("1999"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("10000"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("20x3"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse(" 2023"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("-2023"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("+2023"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse(""));
+        assertEquals(RangeVerifier.INVALID, verifier.parse((CharSequence) null));
+        assertFalse(verifier.verify("20x3"));
+    }
+
+    @Test
+    void rejectsOverflowingValues() {
+        var verifier = new RangeVerifier(0, Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, verifier.parse("2147483647"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("2147483648"));
+        assertEquals(RangeVerifier.INVALID, verifier.parse("99999999999999999999999"));
+    }
+
+    @Test
+    void parsesDocuments() throws BadLocationException {
+        var document = new PlainDocument();
+        assertEquals(RangeVerifier.INVALID, verifier.parse(document));
+        document.insertString(0, "2023", null);
+        assertEquals(2023, verifier.parse(document));
+        assertTrue(verifier.verify(document));
+        document.insertString(2, "x", null);
+        assertEquals(RangeVerifier.INVALID, verifier.parse(document));
+        document.remove(2, 1);
+        assertEquals(2023, verifier.parse(document));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> new RangeVerifier(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RangeVerifier(10, 9));
+    }
+}